@@ -25,29 +25,50 @@
 
 package org.geysermc.geyser.platform.spigot.world.manager;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.DecoratedPot;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.erosion.bukkit.BukkitUtils;
 import org.geysermc.erosion.bukkit.SchedulerUtils;
+import org.geysermc.erosion.util.BlockPositionIterator;
 import org.geysermc.geyser.level.WorldManager;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
  * The base world manager to use when there is no supported NMS revision
  */
 public class GeyserSpigotWorldManager extends WorldManager {
+    /**
+     * Java block state ids, keyed by Bukkit block data. CraftBukkit hands out a fresh wrapper for every lookup,
+     * but its equality is that of the underlying (interned) server state, so this ends up bounded by the
+     * number of block states on the server.
+     */
+    private static final Map<BlockData, Integer> BLOCK_DATA_TO_ID = new ConcurrentHashMap<>();
+
     private final Plugin plugin;
+    /**
+     * The Bukkit player of each session, so lookups don't have to search the online players by name.
+     * Weakly keyed so that sessions which disconnected are dropped without any explicit cleanup.
+     */
+    private final Cache<GeyserSession, Player> players = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
 
     public GeyserSpigotWorldManager(Plugin plugin) {
         this.plugin = plugin;
@@ -55,11 +76,10 @@ public class GeyserSpigotWorldManager extends WorldManager {
 
     @Override
     public int getBlockAt(GeyserSession session, int x, int y, int z) {
-        Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().getUsername())) == null) {
+        World world = getWorld(session);
+        if (world == null) {
             return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
         }
-        World world = bukkitPlayer.getWorld();
         if (!world.isChunkLoaded(x >> 4, z >> 4)) {
             // If the chunk isn't loaded, how could we even be here?
             return org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID;
@@ -68,14 +88,79 @@ public class GeyserSpigotWorldManager extends WorldManager {
         return getBlockNetworkId(world.getBlockAt(x, y, z));
     }
 
+    @Override
+    public int[] getBlocksAt(GeyserSession session, BlockPositionIterator iter) {
+        int[] blocks = new int[iter.getMaxIterations()];
+        World world = getWorld(session);
+        if (world == null) {
+            // Already filled with air
+            return blocks;
+        }
+
+        int lastChunkX = Integer.MIN_VALUE;
+        int lastChunkZ = Integer.MIN_VALUE;
+        boolean chunkLoaded = false;
+        for (; iter.hasNext(); iter.next()) {
+            int x = iter.getX();
+            int z = iter.getZ();
+            if (x >> 4 != lastChunkX || z >> 4 != lastChunkZ) {
+                lastChunkX = x >> 4;
+                lastChunkZ = z >> 4;
+                chunkLoaded = world.isChunkLoaded(lastChunkX, lastChunkZ);
+            }
+            if (chunkLoaded) {
+                blocks[iter.getIteration()] = getBlockNetworkId(world.getBlockAt(x, iter.getY(), z));
+            }
+        }
+        return blocks;
+    }
+
     public int getBlockNetworkId(Block block) {
         if (SchedulerUtils.FOLIA && !Bukkit.isOwnedByCurrentRegion(block)) {
             // Terrible behavior, but this is basically what's always been happening behind the scenes anyway.
-            CompletableFuture<String> blockData = new CompletableFuture<>();
-            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData().getAsString()));
-            return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.join(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            CompletableFuture<BlockData> blockData = new CompletableFuture<>();
+            Bukkit.getRegionScheduler().execute(this.plugin, block.getLocation(), () -> blockData.complete(block.getBlockData()));
+            return getBlockNetworkId(blockData.join());
         }
-        return BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(block.getBlockData().getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID); // TODO could just make this a BlockState lookup?
+        return getBlockNetworkId(block.getBlockData());
+    }
+
+    public int getBlockNetworkId(BlockData blockData) {
+        Integer id = BLOCK_DATA_TO_ID.get(blockData);
+        if (id == null) {
+            id = BlockRegistries.JAVA_BLOCK_STATE_IDENTIFIER_TO_ID.getOrDefault(blockData.getAsString(), org.geysermc.geyser.level.block.type.Block.JAVA_AIR_ID);
+            BLOCK_DATA_TO_ID.put(blockData, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return the Bukkit player of this session, or null if they are not (or no longer) online
+     */
+    protected @Nullable Player getPlayer(GeyserSession session) {
+        Player player = players.getIfPresent(session);
+        if (player != null && player.isOnline()) {
+            return player;
+        }
+        if (session.isClosed()) {
+            players.invalidate(session);
+            return null;
+        }
+        player = Bukkit.getPlayerExact(session.getPlayerEntity().getUsername());
+        if (player == null) {
+            players.invalidate(session);
+        } else {
+            players.put(session, player);
+        }
+        return player;
+    }
+
+    /**
+     * @return the world the player of this session is currently in, or null if they are not online
+     */
+    protected @Nullable World getWorld(GeyserSession session) {
+        Player player = getPlayer(session);
+        return player == null ? null : player.getWorld();
     }
 
     @Override
@@ -89,11 +174,11 @@ public class GeyserSpigotWorldManager extends WorldManager {
     }
 
     public void getDecoratedPotData(GeyserSession session, Vector3i pos, Consumer<List<String>> apply) {
-        Player bukkitPlayer;
-        if ((bukkitPlayer = Bukkit.getPlayer(session.getPlayerEntity().uuid())) == null) {
+        World world = getWorld(session);
+        if (world == null) {
             return;
         }
-        Block block = bukkitPlayer.getWorld().getBlockAt(pos.getX(), pos.getY(), pos.getZ());
+        Block block = world.getBlockAt(pos.getX(), pos.getY(), pos.getZ());
         SchedulerUtils.runTask(this.plugin, () -> {
             var state = BukkitUtils.getBlockState(block);
             if (!(state instanceof DecoratedPot pot)) {
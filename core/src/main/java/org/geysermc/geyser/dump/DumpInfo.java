@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.dump;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.Files;
@@ -45,12 +46,20 @@ import org.geysermc.geyser.api.GeyserApi;
 import org.geysermc.geyser.api.entity.custom.CustomEntityDefinition;
 import org.geysermc.geyser.api.extension.Extension;
 import org.geysermc.geyser.api.util.MinecraftVersion;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
 import org.geysermc.geyser.network.GameProtocol;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.TickScheduler;
+import org.geysermc.geyser.session.auth.LoginCryptoExecutor;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ItemDataCache;
+import org.geysermc.geyser.session.cache.SkullCache;
 import org.geysermc.geyser.text.AsteriskSerializer;
+import org.geysermc.geyser.translator.level.ChunkSectionTranslator;
+import org.geysermc.geyser.translator.text.MessageTranslator;
 import org.geysermc.geyser.util.CpuUtils;
 import org.geysermc.geyser.util.FileUtils;
 import org.geysermc.geyser.util.WebUtils;
@@ -70,6 +79,7 @@ import java.net.UnknownHostException;
 import java.nio.charset.Charset;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -97,6 +107,13 @@ public class DumpInfo {
     private final List<ExtensionInfo> extensionInfo;
     private final List<PackInfo> packInfo;
     private final MappingInfo mappingInfo;
+    private final SectionCacheInfo sectionCacheInfo;
+    private final MessageCacheInfo messageCacheInfo;
+    private final ChunkCacheInfo chunkCacheInfo;
+    private final TickInfo tickInfo;
+    private final LoginInfo loginInfo;
+    private final SkullInfo skullInfo;
+    private final ItemDataCacheInfo itemDataCacheInfo;
 
     public DumpInfo(GeyserImpl geyser, boolean addLog) {
         this.versionInfo = new VersionInfo();
@@ -145,10 +162,43 @@ public class DumpInfo {
         }
 
         this.userPlatforms = new Object2IntOpenHashMap<>();
+        long cachedChunks = 0;
+        long chunkMemoryUsage = 0;
+        long skulls = 0;
+        long skullEntities = 0;
+        long skullEntitiesAssigned = 0;
+        long skullEntitiesFreed = 0;
+        long cachedItems = 0;
+        long itemCacheHits = 0;
+        long itemCacheMisses = 0;
         for (GeyserSession session : geyser.getSessionManager().getAllSessions()) {
             DeviceOs device = session.getClientData().getDeviceOs();
             userPlatforms.put(device, userPlatforms.getOrDefault(device, 0) + 1);
+
+            cachedChunks += session.getChunkCache().getChunkCount();
+            chunkMemoryUsage += session.getChunkCache().getMemoryUsage();
+
+            SkullCache skullCache = session.getSkullCache();
+            skulls += skullCache.getSkulls().size();
+            skullEntities += skullCache.getSkullEntityCount();
+            skullEntitiesAssigned += skullCache.getAssignedLastTick();
+            skullEntitiesFreed += skullCache.getFreedLastTick();
+
+            ItemDataCache itemDataCache = session.getItemDataCache();
+            CacheStats itemStats = itemDataCache.stats();
+            cachedItems += itemDataCache.size();
+            if (itemStats != null) {
+                itemCacheHits += itemStats.hitCount();
+                itemCacheMisses += itemStats.missCount();
+            }
         }
+        this.itemDataCacheInfo = new ItemDataCacheInfo(cachedItems, itemCacheHits, itemCacheMisses);
+        this.skullInfo = new SkullInfo(geyser.config().gameplay().maxVisibleCustomSkulls(), skulls, skullEntities,
+            skullEntitiesAssigned, skullEntitiesFreed);
+        int sharedChunks = SharedChunkStore.size();
+        long sharedMemoryUsage = ChunkCache.isShared() ? SharedChunkStore.memoryUsage() : 0;
+        this.chunkCacheInfo = new ChunkCacheInfo(ChunkCache.isCompact(), ChunkCache.isShared(), cachedChunks, chunkMemoryUsage,
+            cachedChunks == 0 ? 0 : (chunkMemoryUsage + sharedMemoryUsage) / cachedChunks, sharedChunks, sharedMemoryUsage);
 
         if (geyser.getGeyserServer() != null) {
             this.connectionAttempts = geyser.getGeyserServer().getConnectionAttempts();
@@ -173,6 +223,10 @@ public class DumpInfo {
             Registries.ITEMS.forVersion(GameProtocol.DEFAULT_BEDROCK_PROTOCOL).getCustomIdMappings().size(),
             Registries.BEDROCK_ENTITY_DEFINITIONS.get().values().stream().filter(def -> def instanceof CustomEntityDefinition).toArray().length
         );
+        this.sectionCacheInfo = new SectionCacheInfo();
+        this.messageCacheInfo = new MessageCacheInfo();
+        this.tickInfo = new TickInfo();
+        this.loginInfo = new LoginInfo();
     }
 
     private JsonElement toGson(ConfigurationNode node) {
@@ -344,4 +398,85 @@ public class DumpInfo {
 
     public record MappingInfo(int customBlocks, int customSkulls, int customItems, int customEntities) {
     }
+
+    /**
+     * Approximate memory used by the chunk caches of all sessions. With shared chunks, {@code bytes} only counts
+     * what sessions hold on their own.
+     */
+    public record ChunkCacheInfo(boolean compact, boolean shared, long chunks, long bytes, long bytesPerChunk, int sharedChunks, long sharedBytes) {
+    }
+
+    /**
+     * Tick timings when sessions are ticked by the {@link TickScheduler}, with the slowest sessions listed individually.
+     */
+    public record TickInfo(boolean sharedScheduler, int sessions, long averageTickMicros, long totalOverruns, List<SessionTickInfo> slowestSessions) {
+
+        public TickInfo() {
+            this(TickScheduler.tickets());
+        }
+
+        private TickInfo(List<TickScheduler.Ticket> tickets) {
+            this(TickScheduler.ENABLED, tickets.size(),
+                (long) tickets.stream().mapToLong(TickScheduler.Ticket::averageTickNanos).average().orElse(0) / 1000,
+                tickets.stream().mapToLong(TickScheduler.Ticket::overruns).sum(),
+                tickets.stream()
+                    .sorted(Comparator.comparingLong(TickScheduler.Ticket::averageTickNanos).reversed())
+                    .limit(10)
+                    .map(ticket -> new SessionTickInfo(ticket.averageTickNanos() / 1000, ticket.maxTickNanos() / 1000, ticket.overruns()))
+                    .toList());
+        }
+    }
+
+    /**
+     * Player skulls tracked by all sessions. Assigned and freed count the skull entities spawned and despawned in the
+     * last tick of each session, which helps with tuning {@code max-visible-custom-skulls}.
+     */
+    public record SkullInfo(int maxVisibleSkulls, long skulls, long skullEntities, long assignedLastTick, long freedLastTick) {
+    }
+
+    /**
+     * Translated items cached by all sessions.
+     */
+    public record ItemDataCacheInfo(long items, long hits, long misses) {
+    }
+
+    public record SessionTickInfo(long averageTickMicros, long maxTickMicros, long overruns) {
+    }
+
+    /**
+     * Time taken to verify Bedrock logins, including time spent waiting for the {@link LoginCryptoExecutor}.
+     */
+    public record LoginInfo(boolean offloaded, long logins, long rejected, int queued, int pooledKeyPairs, long averageMillis, long maxMillis) {
+
+        public LoginInfo() {
+            this(LoginCryptoExecutor.ENABLED, LoginCryptoExecutor.completed(), LoginCryptoExecutor.rejected(), LoginCryptoExecutor.queued(),
+                LoginCryptoExecutor.pooledKeyPairs(), LoginCryptoExecutor.averageLatencyNanos() / 1_000_000, LoginCryptoExecutor.maxLatencyNanos() / 1_000_000);
+        }
+    }
+
+    public record SectionCacheInfo(boolean enabled, long size, long hits, long misses) {
+
+        public SectionCacheInfo() {
+            this(ChunkSectionTranslator.cacheStats());
+        }
+
+        private SectionCacheInfo(@Nullable CacheStats stats) {
+            this(stats != null, ChunkSectionTranslator.cacheSize(),
+                stats == null ? 0 : stats.hitCount(),
+                stats == null ? 0 : stats.missCount());
+        }
+    }
+
+    public record MessageCacheInfo(boolean enabled, long size, long hits, long misses) {
+
+        public MessageCacheInfo() {
+            this(MessageTranslator.cacheStats());
+        }
+
+        private MessageCacheInfo(@Nullable CacheStats stats) {
+            this(stats != null, MessageTranslator.cacheSize(),
+                stats == null ? 0 : stats.hitCount(),
+                stats == null ? 0 : stats.missCount());
+        }
+    }
 }
@@ -113,6 +113,10 @@ public class EntitySpawnContext {
      * @return true if an entity should be spawned
      */
     public boolean callServerSpawnEvent() {
+        if (!GeyserImpl.getInstance().eventBus().hasSubscribers(ServerSpawnEntityEvent.class)) {
+            return bedrockEntityDefinition != null;
+        }
+
         ServerSpawnEntityEvent event = new ServerSpawnEntityEvent(session) {
             private boolean cancelled = false;
 
@@ -184,6 +188,10 @@ public class EntitySpawnContext {
      * @return true if the parrot should be spawned
      */
     public boolean callParrotEvent(PlayerEntity player, int variant, boolean right) {
+        if (!GeyserImpl.getInstance().eventBus().hasSubscribers(ServerAttachParrotsEvent.class)) {
+            return bedrockEntityDefinition != null;
+        }
+
         ServerAttachParrotsEvent event = new ServerAttachParrotsEvent(session) {
             private boolean cancelled = false;
 
@@ -92,6 +92,15 @@ import java.util.function.Consumer;
 public class Entity implements GeyserEntity {
     private static final boolean PRINT_ENTITY_SPAWN_DEBUG = Boolean.parseBoolean(System.getProperty("Geyser.PrintEntitySpawnDebug", "false"));
 
+    private static final int MOVED_X = 1;
+    private static final int MOVED_Y = 1 << 1;
+    private static final int MOVED_Z = 1 << 2;
+    private static final int MOVED_PITCH = 1 << 3;
+    private static final int MOVED_YAW = 1 << 4;
+    private static final int MOVED_HEAD_YAW = 1 << 5;
+    private static final int MOVED_ABSOLUTE = 1 << 6;
+    private static final int TELEPORTED = 1 << 7;
+
     protected final GeyserSession session;
     @Accessors(fluent = true)
     protected BedrockEntityDefinition bedrockDefinition;
@@ -176,6 +185,12 @@ public class Entity implements GeyserEntity {
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.PROTECTED) // For players
     private boolean flagsDirty = false;
+    /**
+     * Movement that is waiting to be sent at the end of the tick, if entity movement is coalesced.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int pendingMovement;
 
     protected float scale = 1.0F;
     protected final @Nullable GeyserEntityPropertyManager propertyManager;
@@ -316,36 +331,33 @@ public class Entity implements GeyserEntity {
         }
 
         if (isValid()) {
-            MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
-            moveEntityPacket.setRuntimeEntityId(geyserId);
+            int movement = 0;
             if (relX != 0.0) {
-                moveEntityPacket.setX(bedrockPosition().getX());
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+                movement |= MOVED_X;
             }
             if (relY != 0.0) {
-                moveEntityPacket.setY(bedrockPosition().getY());
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
+                movement |= MOVED_Y;
             }
             if (relZ != 0.0) {
-                moveEntityPacket.setZ(bedrockPosition().getZ());
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+                movement |= MOVED_Z;
             }
             if (dirtyPitch) {
-                moveEntityPacket.setPitch(pitch);
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+                movement |= MOVED_PITCH;
             }
             if (dirtyYaw) {
-                moveEntityPacket.setYaw(yaw);
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+                movement |= MOVED_YAW;
             }
             if (dirtyHeadYaw) {
-                moveEntityPacket.setHeadYaw(headYaw);
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+                movement |= MOVED_HEAD_YAW;
             }
-            if (isOnGround) {
-                moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
+
+            if (session.getEntityCache().shouldCoalesceMovement(this)) {
+                queueMovement(movement);
+            } else if (pendingMovement != 0) {
+                flushMovement(movement);
+            } else {
+                sendRelativeMovement(movement, isOnGround);
             }
-            session.sendUpstreamPacket(moveEntityPacket);
         }
     }
 
@@ -366,15 +378,93 @@ public class Entity implements GeyserEntity {
         setOnGround(isOnGround);
 
         if (isValid()) {
-            MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
-            moveEntityPacket.setRuntimeEntityId(geyserId);
-            moveEntityPacket.setPosition(bedrockPosition());
-            moveEntityPacket.setRotation(bedrockRotation());
-            moveEntityPacket.setOnGround(isOnGround);
-            moveEntityPacket.setTeleported(teleported);
+            if (session.getEntityCache().shouldCoalesceMovement(this)) {
+                queueMovement(teleported ? MOVED_ABSOLUTE | TELEPORTED : MOVED_ABSOLUTE);
+            } else if (pendingMovement != 0) {
+                flushMovement(teleported ? MOVED_ABSOLUTE | TELEPORTED : MOVED_ABSOLUTE);
+            } else {
+                sendAbsoluteMovement(isOnGround, teleported);
+            }
+        }
+    }
 
-            session.sendUpstreamPacket(moveEntityPacket);
+    /**
+     * Holds back movement until the end of the tick, merging it with any other movement this entity makes until then.
+     */
+    private void queueMovement(int movement) {
+        this.pendingMovement |= movement;
+        session.getEntityCache().markMoved(this);
+    }
+
+    /**
+     * Sends movement right away, together with movement that was held back while this entity was throttled, so that
+     * axes that only changed before it came closer aren't lost.
+     */
+    private void flushMovement(int movement) {
+        this.pendingMovement |= movement;
+        session.getEntityCache().getMovedEntities().remove(this);
+        sendPendingMovement();
+    }
+
+    /**
+     * Sends the movement that has been queued up since the last tick. Called by the session at the end of a tick.
+     */
+    public void sendPendingMovement() {
+        int movement = this.pendingMovement;
+        this.pendingMovement = 0;
+        if (!isValid()) {
+            return;
+        }
+
+        if ((movement & MOVED_ABSOLUTE) != 0) {
+            sendAbsoluteMovement(onGround, (movement & TELEPORTED) != 0);
+        } else {
+            sendRelativeMovement(movement, onGround);
+        }
+    }
+
+    private void sendRelativeMovement(int movement, boolean isOnGround) {
+        MoveEntityDeltaPacket moveEntityPacket = new MoveEntityDeltaPacket();
+        moveEntityPacket.setRuntimeEntityId(geyserId);
+        if ((movement & MOVED_X) != 0) {
+            moveEntityPacket.setX(bedrockPosition().getX());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_X);
+        }
+        if ((movement & MOVED_Y) != 0) {
+            moveEntityPacket.setY(bedrockPosition().getY());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Y);
         }
+        if ((movement & MOVED_Z) != 0) {
+            moveEntityPacket.setZ(bedrockPosition().getZ());
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_Z);
+        }
+        if ((movement & MOVED_PITCH) != 0) {
+            moveEntityPacket.setPitch(pitch);
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_PITCH);
+        }
+        if ((movement & MOVED_YAW) != 0) {
+            moveEntityPacket.setYaw(yaw);
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_YAW);
+        }
+        if ((movement & MOVED_HEAD_YAW) != 0) {
+            moveEntityPacket.setHeadYaw(headYaw);
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.HAS_HEAD_YAW);
+        }
+        if (isOnGround) {
+            moveEntityPacket.getFlags().add(MoveEntityDeltaPacket.Flag.ON_GROUND);
+        }
+        session.sendUpstreamPacket(moveEntityPacket);
+    }
+
+    private void sendAbsoluteMovement(boolean isOnGround, boolean teleported) {
+        MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
+        moveEntityPacket.setRuntimeEntityId(geyserId);
+        moveEntityPacket.setPosition(bedrockPosition());
+        moveEntityPacket.setRotation(bedrockRotation());
+        moveEntityPacket.setOnGround(isOnGround);
+        moveEntityPacket.setTeleported(teleported);
+
+        session.sendUpstreamPacket(moveEntityPacket);
     }
 
     /**
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.erosion;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
+import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.level.physics.BoundingBox;
+import org.geysermc.geyser.level.physics.CollisionManager;
+import org.geysermc.geyser.session.GeyserSession;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A short-lived local copy of the blocks around the player, requested from the backend server at the start of
+ * each tick in which the player has moved. Collision checks read from here instead of waiting on a round trip over the socket for each lookup.
+ * <p>
+ * Any block update inside a cached region drops it, so a lookup never sees a block older than the last update
+ * the server sent us.
+ */
+public final class ErosionBlockCache {
+    /**
+     * Whether the blocks around the player should be prefetched as they move, so lookups inside that region are answered
+     * locally. Lookups that miss the prefetched region still block the session thread until the backend answers.
+     */
+    public static final boolean PIPELINED = Boolean.getBoolean("Geyser.PipelinedErosionLookups");
+    /**
+     * How many ticks a prefetched region may be used for after it was requested.
+     */
+    private static final int MAX_AGE_TICKS = 2;
+
+    private final GeyserSession session;
+    private final GeyserboundPacketHandlerImpl handler;
+
+    /**
+     * The most recent region that has been received from the backend.
+     */
+    private volatile @Nullable Region current;
+    /**
+     * The region that has been requested, but possibly not received yet.
+     */
+    private volatile @Nullable Region pending;
+    /**
+     * Bumped whenever a block changes, so regions requested before the change are never used.
+     */
+    private volatile int generation;
+
+    public ErosionBlockCache(GeyserSession session, GeyserboundPacketHandlerImpl handler) {
+        this.session = session;
+        this.handler = handler;
+    }
+
+    /**
+     * Requests the blocks around the player for this tick. Should be called on the session event loop.
+     */
+    public void tick() {
+        Region pending = this.pending;
+        if (pending != null) {
+            if (!pending.blocks.isDone()) {
+                // Don't pile up requests if the backend can't keep up
+                return;
+            }
+            promote(pending);
+        }
+
+        BoundingBox box = session.getCollisionManager().getActiveBoundingBox().clone();
+        // Leave room for this tick's movement
+        box.expand(1);
+
+        Region current = this.current;
+        if (current != null && current.generation == generation && current.box.equals(box)) {
+            // The player hasn't moved and no block around them has changed, so what we have is still up to date
+            this.current = new Region(current.box, current.iter, session.getTicks(), current.generation, current.blocks);
+            return;
+        }
+
+        BlockPositionIterator iter = CollisionManager.collidableBlocksIterator(session, box);
+        Region region = new Region(box, iter, session.getTicks(), generation, new CompletableFuture<>());
+        this.pending = region;
+        handler.addPendingBatchLookup(region.blocks);
+        handler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
+    }
+
+    /**
+     * @return the cached block at this position, or -1 if it isn't cached
+     */
+    public int getBlockAt(int x, int y, int z) {
+        Region region = regionFor(x, y, z);
+        if (region == null) {
+            return -1;
+        }
+        return received(region)[region.iter.getIndex(x, y, z)];
+    }
+
+    /**
+     * @return the cached blocks of the whole iterator, or null if any of them isn't cached
+     */
+    public int @Nullable [] getBlocksAt(BlockPositionIterator iter) {
+        iter.reset();
+        if (!iter.hasNext()) {
+            return new int[iter.getMaxIterations()];
+        }
+        Region region = regionFor(iter.getX(), iter.getY(), iter.getZ());
+        if (region == null) {
+            return null;
+        }
+
+        int[] cached = received(region);
+        int[] blocks = new int[iter.getMaxIterations()];
+        for (; iter.hasNext(); iter.next()) {
+            int index = region.iter.getIndex(iter.getX(), iter.getY(), iter.getZ());
+            if (index == -1) {
+                iter.reset();
+                return null;
+            }
+            blocks[iter.getIteration()] = cached[index];
+        }
+        iter.reset();
+        return blocks;
+    }
+
+    /**
+     * Called when a block changes. Drops every region that contains it.
+     */
+    public void invalidate(int x, int y, int z) {
+        Region current = this.current;
+        Region pending = this.pending;
+        if ((current != null && current.iter.getIndex(x, y, z) != -1) || (pending != null && pending.iter.getIndex(x, y, z) != -1)) {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        generation++;
+        this.current = null;
+    }
+
+    /**
+     * Finds a usable region that contains this position. A region that is still in flight is never waited on, so the
+     * session thread isn't parked; the lookup is sent on its own instead.
+     */
+    private @Nullable Region regionFor(int x, int y, int z) {
+        int ticks = session.getTicks();
+        Region current = this.current;
+        if (current != null && isUsable(current, ticks) && current.iter.getIndex(x, y, z) != -1) {
+            return current;
+        }
+
+        Region pending = this.pending;
+        if (pending != null && isUsable(pending, ticks) && pending.iter.getIndex(x, y, z) != -1
+                && received(pending) != null) {
+            promote(pending);
+            return pending;
+        }
+        return null;
+    }
+
+    private boolean isUsable(Region region, int ticks) {
+        return region.generation == generation && ticks - region.tick <= MAX_AGE_TICKS;
+    }
+
+    private void promote(Region region) {
+        if (this.pending == region) {
+            this.pending = null;
+        }
+        if (received(region) != null) {
+            this.current = region;
+        }
+    }
+
+    /**
+     * @return the blocks of this region, or null if they haven't arrived yet or the lookup failed
+     */
+    private static int @Nullable [] received(Region region) {
+        CompletableFuture<int[]> blocks = region.blocks;
+        // Failed lookups complete with null
+        return blocks.isDone() && !blocks.isCompletedExceptionally() ? blocks.getNow(null) : null;
+    }
+
+    private record Region(BoundingBox box, BlockPositionIterator iter, int tick, int generation, CompletableFuture<int[]> blocks) {
+    }
+}
@@ -55,7 +55,9 @@ import org.geysermc.geyser.translator.level.block.entity.PistonBlockEntity;
 import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.value.PistonValueType;
 
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacketHandler {
@@ -64,22 +66,29 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     private CompletableFuture<Integer> pendingLookup = null;
     @Getter
     private final Int2ObjectMap<CompletableFuture<Integer>> asyncPendingLookups = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>(4));
-    @Setter
-    private CompletableFuture<int[]> pendingBatchLookup = null;
+    /**
+     * Batch lookups don't carry a transaction id, but the backend answers them in order.
+     */
+    private final Queue<CompletableFuture<int[]>> pendingBatchLookups = new ConcurrentLinkedQueue<>();
     @Setter
     private CompletableFuture<Int2ObjectMap<byte[]>> pickBlockLookup = null;
 
+    @Getter
+    private final ErosionBlockCache blockCache;
+
     private final AtomicInteger nextTransactionId = new AtomicInteger(1);
 
     public GeyserboundPacketHandlerImpl(GeyserSession session, ErosionPacketSender<BackendboundPacket> packetSender) {
         super(session);
         this.packetSender = packetSender;
+        this.blockCache = new ErosionBlockCache(session, this);
     }
 
     @Override
     public void handleBatchBlockId(GeyserboundBatchBlockIdPacket packet) {
-        if (this.pendingBatchLookup != null) {
-            this.pendingBatchLookup.complete(packet.getBlocks());
+        CompletableFuture<int[]> future = this.pendingBatchLookups.poll();
+        if (future != null) {
+            future.complete(packet.getBlocks());
         } else {
             session.getGeyser().getLogger().warning("Batch block ID packet received with no future to complete.");
         }
@@ -88,7 +97,8 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockEntity(GeyserboundBlockEntityPacket packet) {
         NbtMap nbt = packet.getNbt();
-        BlockEntityUtils.updateBlockEntity(session, nbt, Vector3i.from(nbt.getInt("x"), nbt.getInt("y"), nbt.getInt("z")));
+        // Block entity updates are held back while their chunk is being translated, which is tracked on the event loop
+        session.executeInEventLoop(() -> BlockEntityUtils.updateBlockEntity(session, nbt, Vector3i.from(nbt.getInt("x"), nbt.getInt("y"), nbt.getInt("z"))));
     }
 
     @Override
@@ -110,8 +120,9 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
     @Override
     public void handleBlockLookupFail(GeyserboundBlockLookupFailPacket packet) {
         if (packet.getTransactionId() == 0) {
-            if (this.pendingBatchLookup != null) {
-                this.pendingBatchLookup.complete(null);
+            CompletableFuture<int[]> future = this.pendingBatchLookups.poll();
+            if (future != null) {
+                future.complete(null);
                 return;
             }
         }
@@ -202,8 +213,9 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         if (pendingLookup != null) {
             pendingLookup.completeExceptionally(new ErosionCancellationException());
         }
-        if (pendingBatchLookup != null) {
-            pendingBatchLookup.completeExceptionally(new ErosionCancellationException());
+        CompletableFuture<int[]> batchLookup;
+        while ((batchLookup = pendingBatchLookups.poll()) != null) {
+            batchLookup.completeExceptionally(new ErosionCancellationException());
         }
         if (pickBlockLookup != null) {
             pickBlockLookup.completeExceptionally(new ErosionCancellationException());
@@ -211,6 +223,13 @@ public final class GeyserboundPacketHandlerImpl extends AbstractGeyserboundPacke
         asyncPendingLookups.forEach(($, future) -> future.completeExceptionally(new ErosionCancellationException()));
     }
 
+    /**
+     * Registers the future for the next batch lookup. Must be called right before sending the request.
+     */
+    public void addPendingBatchLookup(CompletableFuture<int[]> future) {
+        this.pendingBatchLookups.add(future);
+    }
+
     public int getNextTransactionId() {
         return nextTransactionId.getAndIncrement();
     }
@@ -37,13 +37,23 @@ import org.geysermc.geyser.api.event.EventRegistrar;
 import org.geysermc.geyser.api.event.EventSubscriber;
 import org.geysermc.geyser.session.GeyserSession;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 @SuppressWarnings("unchecked")
 public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Event, EventSubscriber<EventRegistrar, ? extends Event>>
         implements EventBus<EventRegistrar> {
+    /**
+     * Every subscription made through this bus. Only modified while synchronized on this list.
+     */
+    private final List<GeyserEventSubscriber<EventRegistrar, ?>> subscriptions = new ArrayList<>();
+    private volatile SubscribedClasses subscribedClasses = new SubscribedClasses(new Class<?>[0]);
+
     @Override
     protected <L, T extends Event, B extends OwnedSubscriber<EventRegistrar, T>> B makeSubscription(
             @NonNull EventRegistrar owner,
@@ -51,9 +61,9 @@ public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Even
             @NonNull Subscribe subscribe,
             @NonNull L listener,
             @NonNull BiConsumer<L, T> handler) {
-        return (B) new GeyserEventSubscriber<>(
+        return (B) track(new GeyserEventSubscriber<>(
                 owner, eventClass, subscribe.postOrder(), subscribe.ignoreCancelled(), listener, handler
-        );
+        ));
     }
 
     @Override
@@ -62,7 +72,49 @@ public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Even
             @NonNull Class<T> eventClass,
             @NonNull Consumer<T> handler,
             @NonNull PostOrder postOrder) {
-        return (B) new GeyserEventSubscriber<>(owner, eventClass, handler, postOrder);
+        return (B) track(new GeyserEventSubscriber<>(owner, eventClass, handler, postOrder));
+    }
+
+    @Override
+    public void unsubscribe(@NonNull EventSubscriber<EventRegistrar, ? extends Event> subscription) {
+        super.unsubscribe(subscription);
+        synchronized (subscriptions) {
+            subscriptions.remove(subscription);
+            updateSubscribedClasses();
+        }
+    }
+
+    @Override
+    public void unregisterAll(@NonNull EventRegistrar owner) {
+        super.unregisterAll(owner);
+        synchronized (subscriptions) {
+            subscriptions.removeIf(subscription -> subscription.owner() == owner);
+            updateSubscribedClasses();
+        }
+    }
+
+    /**
+     * Whether anything could receive an event of this class. Events that are fired often, or are expensive to
+     * create, should check this first so nothing is created when no extension is listening.
+     */
+    public boolean hasSubscribers(@NonNull Class<? extends Event> eventClass) {
+        return subscribedClasses.covers(eventClass);
+    }
+
+    private <T extends Event> GeyserEventSubscriber<EventRegistrar, T> track(GeyserEventSubscriber<EventRegistrar, T> subscription) {
+        // Tracked before the subscription is registered, so hasSubscribers never misses a subscriber
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+            updateSubscribedClasses();
+        }
+        return subscription;
+    }
+
+    private void updateSubscribedClasses() {
+        subscribedClasses = new SubscribedClasses(subscriptions.stream()
+            .map(GeyserEventSubscriber::eventClass)
+            .distinct()
+            .toArray(Class<?>[]::new));
     }
 
     @Override
@@ -77,4 +129,29 @@ public final class GeyserEventBus extends OwnedEventBusImpl<EventRegistrar, Even
             session.disconnect("Internal server error occurred! Please contact a server administrator.");
         }
     }
+
+    /**
+     * An immutable snapshot of the subscribed event classes. Subscribing to a supertype also receives its subtypes,
+     * so lookups are answered with isAssignableFrom and remembered per snapshot.
+     */
+    private record SubscribedClasses(Class<?>[] classes, Map<Class<?>, Boolean> results) {
+
+        SubscribedClasses(Class<?>[] classes) {
+            this(classes, new ConcurrentHashMap<>());
+        }
+
+        boolean covers(Class<? extends Event> eventClass) {
+            if (classes.length == 0) {
+                return false;
+            }
+            return results.computeIfAbsent(eventClass, $ -> {
+                for (Class<?> subscribed : classes) {
+                    if (subscribed.isAssignableFrom(eventClass)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.item.hashing;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.session.cache.registry.JavaRegistryProvider;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponent;
+
+/**
+ * Remembers the hashes of data components, so items that are clicked over and over again in an inventory don't have
+ * their whole component trees hashed every time.
+ * <p>
+ * Components are never modified once created - a changed item gets new component instances - so they are looked up by
+ * identity, and only held onto for as long as something else references them. Hashes depend on the registries they
+ * were made with, so this must be invalidated whenever those change.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class ComponentHashCache {
+    /**
+     * The maximum amount of component hashes to remember per session. Set to 0 to disable.
+     */
+    private static final int MAX_SIZE = Integer.getInteger("Geyser.ComponentHashCacheSize", 512);
+
+    private final JavaRegistryProvider registries;
+    private final @Nullable Cache<DataComponent<?, ?>, Integer> hashes;
+
+    public ComponentHashCache(JavaRegistryProvider registries) {
+        this.registries = registries;
+        this.hashes = MAX_SIZE > 0 ? CacheBuilder.newBuilder()
+            .weakKeys() // Also compares keys by identity
+            .maximumSize(MAX_SIZE)
+            .build() : null;
+    }
+
+    public <V> int hash(DataComponent<V, ?> component) {
+        if (hashes == null) {
+            return DataComponentHashers.hash(registries, component).asInt();
+        }
+
+        Integer hash = hashes.getIfPresent(component);
+        if (hash == null) {
+            hash = DataComponentHashers.hash(registries, component).asInt();
+            hashes.put(component, hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Forgets all hashes. Called when the registries are reloaded.
+     */
+    public void invalidate() {
+        if (hashes != null) {
+            hashes.invalidateAll();
+        }
+    }
+}
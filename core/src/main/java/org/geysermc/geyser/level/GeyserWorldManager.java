@@ -29,6 +29,7 @@ import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.erosion.packet.backendbound.BackendboundBatchBlockRequestPacket;
 import org.geysermc.erosion.packet.backendbound.BackendboundBlockRequestPacket;
 import org.geysermc.erosion.util.BlockPositionIterator;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.mcprotocollib.protocol.data.game.entity.player.GameMode;
@@ -45,6 +46,13 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
+        if (ErosionBlockCache.PIPELINED) {
+            int cached = erosionHandler.getBlockCache().getBlockAt(x, y, z);
+            if (cached != -1) {
+                return cached;
+            }
+            // Not prefetched; this still waits on the backend like any other lookup
+        }
         CompletableFuture<Integer> future = new CompletableFuture<>(); // Boxes
         erosionHandler.setPendingLookup(future);
         erosionHandler.sendPacket(new BackendboundBlockRequestPacket(0, Vector3i.from(x, y, z)));
@@ -74,8 +82,15 @@ public class GeyserWorldManager extends WorldManager {
         } else if (session.isClosed()) {
             throw new ErosionCancellationException();
         }
+        if (ErosionBlockCache.PIPELINED) {
+            int[] cached = erosionHandler.getBlockCache().getBlocksAt(iter);
+            if (cached != null) {
+                return cached;
+            }
+            // Not prefetched; this still waits on the backend like any other lookup
+        }
         CompletableFuture<int[]> future = new CompletableFuture<>();
-        erosionHandler.setPendingBatchLookup(future);
+        erosionHandler.addPendingBatchLookup(future);
         erosionHandler.sendPacket(new BackendboundBatchBlockRequestPacket(iter));
         return future.join();
     }
@@ -108,7 +108,7 @@ public class Block {
         updateBlockPacket.setDefinition(definition);
         updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
         updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
-        session.sendUpstreamPacket(updateBlockPacket);
+        session.getChunkEncodingQueue().sendBlockUpdate(position, updateBlockPacket);
 
         UpdateBlockPacket waterPacket = new UpdateBlockPacket();
         waterPacket.setDataLayer(1);
@@ -118,7 +118,7 @@ public class Block {
         } else {
             waterPacket.setDefinition(session.getBlockMappings().getBedrockAir());
         }
-        session.sendUpstreamPacket(waterPacket);
+        session.getChunkEncodingQueue().sendBlockUpdate(position, waterPacket);
     }
 
     protected void checkForEmptySkull(GeyserSession session, BlockState state, Vector3i position) {
@@ -54,7 +54,7 @@ public class FlowerPotBlock extends Block implements BedrockChunkWantsBlockEntit
         updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
         updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
         updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.PRIORITY);
-        session.sendUpstreamPacket(updateBlockPacket);
+        session.getChunkEncodingQueue().sendBlockUpdate(position, updateBlockPacket);
         BlockEntityUtils.updateBlockEntity(session, createTag(session, position, state), position);
     }
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+
+/**
+ * A chunk that stores its sections as {@link CompactChunkSection}s. Sections that only contain air are not stored.
+ */
+public record CompactChunk(CompactChunkSection[] sections) implements GeyserChunk {
+
+    public static CompactChunk from(DataPalette[] javaSections) {
+        CompactChunkSection[] sections = new CompactChunkSection[javaSections.length];
+        for (int i = 0; i < javaSections.length; i++) {
+            DataPalette javaSection = javaSections[i];
+            if (javaSection != null) {
+                sections[i] = CompactChunkSection.from(javaSection);
+            }
+        }
+        return new CompactChunk(sections);
+    }
+
+    @Override
+    public int sectionCount() {
+        return sections.length;
+    }
+
+    @Override
+    public int getBlockAt(int sectionIndex, int x, int y, int z) {
+        CompactChunkSection section = sections[sectionIndex];
+        if (section == null) {
+            return Block.JAVA_AIR_ID;
+        }
+        return section.get(x, y, z);
+    }
+
+    @Override
+    public long setBlockAt(int sectionIndex, int x, int y, int z, int block) {
+        CompactChunkSection section = sections[sectionIndex];
+        if (section == null) {
+            if (block == Block.JAVA_AIR_ID) {
+                return 0;
+            }
+            section = CompactChunkSection.singleton(Block.JAVA_AIR_ID);
+            sections[sectionIndex] = section;
+            section.set(x, y, z, block);
+            return section.memoryUsage();
+        }
+
+        long before = section.memoryUsage();
+        section.set(x, y, z, block);
+        return section.memoryUsage() - before;
+    }
+
+    @Override
+    public long memoryUsage() {
+        long usage = (long) sections.length * Integer.BYTES;
+        for (CompactChunkSection section : sections) {
+            if (section != null) {
+                usage += section.memoryUsage();
+            }
+        }
+        return usage;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayTranscoder;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.Arrays;
+
+/**
+ * A Java block section that only keeps what the chunk cache needs: the block states that are present, and the
+ * smallest packed array that can index them.
+ * <p>
+ * Unlike a {@link DataPalette}, sections that use the global palette are compressed into a local palette, unused
+ * palette entries are dropped, and sections containing one block state don't allocate any data at all.
+ */
+public final class CompactChunkSection {
+    private static final int SIZE = 4096;
+    /**
+     * Approximate size of this object with its two array headers.
+     */
+    private static final int OVERHEAD = 64;
+
+    private static final ThreadLocal<int[]> UNPACKED_DATA = ThreadLocal.withInitial(() -> new int[SIZE]);
+
+    private int[] palette;
+    private int paletteSize;
+    private int bitsPerEntry;
+    private long @Nullable [] data;
+
+    private CompactChunkSection(int[] palette, int paletteSize, int bitsPerEntry, long @Nullable [] data) {
+        this.palette = palette;
+        this.paletteSize = paletteSize;
+        this.bitsPerEntry = bitsPerEntry;
+        this.data = data;
+    }
+
+    /**
+     * @return a section containing only the given block state
+     */
+    public static CompactChunkSection singleton(int state) {
+        return new CompactChunkSection(new int[] {state}, 1, 0, null);
+    }
+
+    /**
+     * Compresses a Java section.
+     *
+     * @return the compressed section, or null if it only contains air
+     */
+    public static @Nullable CompactChunkSection from(DataPalette javaBlocks) {
+        Palette javaPalette = javaBlocks.getPalette();
+        if (javaPalette instanceof SingletonPalette) {
+            int state = javaPalette.idToState(0);
+            return state == Block.JAVA_AIR_ID ? null : singleton(state);
+        }
+
+        int[] values = UNPACKED_DATA.get();
+        BitArrayTranscoder.unpack(javaBlocks.getStorage(), values);
+
+        // Remap the Java palette IDs into a palette with only the states that are present
+        int[] palette = new int[8];
+        int paletteSize = 0;
+        if (javaPalette instanceof GlobalPalette) {
+            Int2IntMap stateToId = new Int2IntOpenHashMap();
+            stateToId.defaultReturnValue(-1);
+            for (int i = 0; i < SIZE; i++) {
+                int state = values[i];
+                int id = stateToId.get(state);
+                if (id == -1) {
+                    id = paletteSize;
+                    stateToId.put(state, id);
+                    palette = add(palette, paletteSize++, state);
+                }
+                values[i] = id;
+            }
+        } else {
+            int[] remapped = new int[javaPalette.size()];
+            Arrays.fill(remapped, -1);
+            for (int i = 0; i < SIZE; i++) {
+                int javaId = values[i];
+                int id = remapped[javaId];
+                if (id == -1) {
+                    id = paletteSize;
+                    remapped[javaId] = id;
+                    palette = add(palette, paletteSize++, javaPalette.idToState(javaId));
+                }
+                values[i] = id;
+            }
+        }
+
+        if (paletteSize == 1) {
+            return palette[0] == Block.JAVA_AIR_ID ? null : singleton(palette[0]);
+        }
+
+        int bitsPerEntry = bitsFor(paletteSize);
+        long[] data = new long[dataLength(bitsPerEntry)];
+        pack(values, data, bitsPerEntry);
+        return new CompactChunkSection(palette, paletteSize, bitsPerEntry, data);
+    }
+
+    public int get(int x, int y, int z) {
+        if (data == null) {
+            return palette[0];
+        }
+        return palette[read(data, bitsPerEntry, index(x, y, z))];
+    }
+
+    public void set(int x, int y, int z, int state) {
+        int id = idFor(state);
+        if (id == -1) {
+            id = paletteSize;
+            palette = add(palette, paletteSize++, state);
+
+            int bits = bitsFor(paletteSize);
+            if (bits > bitsPerEntry) {
+                resize(bits);
+            }
+        } else if (data == null) {
+            // Already the only block state in this section
+            return;
+        }
+
+        write(data, bitsPerEntry, index(x, y, z), id);
+    }
+
+    /**
+     * @return the approximate amount of bytes this section takes up in memory
+     */
+    public long memoryUsage() {
+        return OVERHEAD + (long) palette.length * Integer.BYTES + (data == null ? 0 : (long) data.length * Long.BYTES);
+    }
+
+    private int idFor(int state) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == state) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int bits) {
+        long[] resized = new long[dataLength(bits)];
+        if (data != null) {
+            for (int i = 0; i < SIZE; i++) {
+                write(resized, bits, i, read(data, bitsPerEntry, i));
+            }
+        }
+        this.bitsPerEntry = bits;
+        this.data = resized;
+    }
+
+    private static int[] add(int[] palette, int paletteSize, int state) {
+        if (paletteSize == palette.length) {
+            palette = Arrays.copyOf(palette, palette.length * 2);
+        }
+        palette[paletteSize] = state;
+        return palette;
+    }
+
+    private static void pack(int[] values, long[] data, int bits) {
+        int valuesPerLong = Long.SIZE / bits;
+        int index = 0;
+        for (int i = 0; i < data.length; i++) {
+            long word = 0;
+            int end = Math.min(index + valuesPerLong, SIZE);
+            for (int shift = 0; index < end; index++, shift += bits) {
+                word |= (long) values[index] << shift;
+            }
+            data[i] = word;
+        }
+    }
+
+    private static int read(long[] data, int bits, int index) {
+        int valuesPerLong = Long.SIZE / bits;
+        int shift = (index % valuesPerLong) * bits;
+        return (int) ((data[index / valuesPerLong] >>> shift) & ((1L << bits) - 1L));
+    }
+
+    private static void write(long[] data, int bits, int index, int value) {
+        int valuesPerLong = Long.SIZE / bits;
+        int shift = (index % valuesPerLong) * bits;
+        long mask = (1L << bits) - 1L;
+        int arrayIndex = index / valuesPerLong;
+        data[arrayIndex] = data[arrayIndex] & ~(mask << shift) | ((long) value & mask) << shift;
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(paletteSize - 1));
+    }
+
+    private static int dataLength(int bits) {
+        int valuesPerLong = Long.SIZE / bits;
+        return (SIZE + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    private static int index(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+}
@@ -29,10 +29,28 @@ import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 
 /**
  * Acts as a lightweight chunk class that doesn't store biomes, heightmaps or block entities.
+ * <p>
+ * Section indices are relative to the bottom of the world, and block coordinates are relative to the section.
  */
-public record GeyserChunk(DataPalette[] sections) {
+public interface GeyserChunk {
 
-    public static GeyserChunk from(DataPalette[] sections) {
-        return new GeyserChunk(sections);
+    static GeyserChunk from(DataPalette[] sections, boolean compact) {
+        return compact ? CompactChunk.from(sections) : new PaletteChunk(sections);
     }
+
+    int sectionCount();
+
+    int getBlockAt(int sectionIndex, int x, int y, int z);
+
+    /**
+     * Sets a block, creating the section if it is empty.
+     *
+     * @return the change in approximate memory usage, in bytes
+     */
+    long setBlockAt(int sectionIndex, int x, int y, int z, int block);
+
+    /**
+     * @return the approximate amount of bytes the block data of this chunk takes up in memory
+     */
+    long memoryUsage();
 }
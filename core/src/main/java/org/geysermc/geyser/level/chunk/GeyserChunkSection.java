@@ -26,6 +26,7 @@
 package org.geysermc.geyser.level.chunk;
 
 import io.netty.buffer.ByteBuf;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.common.util.Preconditions;
 
 public class GeyserChunkSection {
@@ -36,13 +37,22 @@ public class GeyserChunkSection {
     private final BlockStorage[] storage;
     // Counts up from 00 for y >= 0 and down from FF for y < 0
     private final int subChunkIndex;
+    /**
+     * The network encoding of all block storages, if they are shared with other sections and must not be modified.
+     */
+    private final byte @Nullable [] encodedStorage;
 
     public GeyserChunkSection(int airBlockId, int subChunkIndex) {
         this(new BlockStorage[]{new BlockStorage(airBlockId), new BlockStorage(airBlockId)}, subChunkIndex);
     }
 
     public GeyserChunkSection(BlockStorage[] storage, int subChunkIndex) {
+        this(storage, null, subChunkIndex);
+    }
+
+    public GeyserChunkSection(BlockStorage[] storage, byte @Nullable [] encodedStorage, int subChunkIndex) {
         this.storage = storage;
+        this.encodedStorage = encodedStorage;
         this.subChunkIndex = subChunkIndex;
     }
 
@@ -63,13 +73,30 @@ public class GeyserChunkSection {
         buffer.writeByte(this.storage.length);
         // Required for chunk version 9+
         buffer.writeByte(this.subChunkIndex);
+        if (this.encodedStorage != null) {
+            buffer.writeBytes(this.encodedStorage);
+            return;
+        }
         for (BlockStorage blockStorage : this.storage) {
             blockStorage.writeToNetwork(buffer);
         }
     }
 
+    /**
+     * Writes a section without any block storages, which the client treats as air. Equivalent to writing a section
+     * with no storages, without creating one.
+     */
+    public static void writeEmptyToNetwork(ByteBuf buffer, int subChunkIndex) {
+        buffer.writeByte(CHUNK_SECTION_VERSION);
+        buffer.writeByte(0);
+        buffer.writeByte(subChunkIndex);
+    }
+
     public int estimateNetworkSize() {
         int size = 2; // Version + storage count
+        if (this.encodedStorage != null) {
+            return size + this.encodedStorage.length;
+        }
         for (BlockStorage blockStorage : this.storage) {
             size += blockStorage.estimateNetworkSize();
         }
@@ -80,6 +107,13 @@ public class GeyserChunkSection {
         return storage;
     }
 
+    /**
+     * @return true if this section's block storages are shared, in which case {@link #copy(int)} must be used before modifying it
+     */
+    public boolean isShared() {
+        return this.encodedStorage != null;
+    }
+
     public boolean isEmpty() {
         for (BlockStorage blockStorage : this.storage) {
             if (!blockStorage.isEmpty()) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import org.geysermc.geyser.level.block.type.Block;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+
+/**
+ * A chunk that keeps the sections exactly as they were read from the Java server.
+ */
+public record PaletteChunk(DataPalette[] sections) implements GeyserChunk {
+
+    @Override
+    public int sectionCount() {
+        return sections.length;
+    }
+
+    @Override
+    public int getBlockAt(int sectionIndex, int x, int y, int z) {
+        DataPalette palette = sections[sectionIndex];
+        if (palette == null) {
+            return Block.JAVA_AIR_ID;
+        }
+        return palette.get(x, y, z);
+    }
+
+    @Override
+    public long setBlockAt(int sectionIndex, int x, int y, int z, int block) {
+        DataPalette palette = sections[sectionIndex];
+        long before;
+        if (palette == null) {
+            palette = DataPalette.createForBlockState(Block.JAVA_AIR_ID, BlockRegistries.BLOCK_STATES.get().size());
+            sections[sectionIndex] = palette;
+            before = 0;
+        } else {
+            before = memoryUsage(palette);
+        }
+
+        palette.set(x, y, z, block);
+        return memoryUsage(palette) - before;
+    }
+
+    @Override
+    public long memoryUsage() {
+        long usage = 0;
+        for (DataPalette palette : sections) {
+            usage += memoryUsage(palette);
+        }
+        return usage;
+    }
+
+    private static long memoryUsage(DataPalette palette) {
+        if (palette == null) {
+            return 0;
+        }
+        // Rough size of the palette, the storage and their headers
+        long usage = 64;
+        BitStorage storage = palette.getStorage();
+        if (storage != null) {
+            usage += (long) storage.getData().length * Long.BYTES;
+        }
+        if (!(palette.getPalette() instanceof GlobalPalette)) {
+            usage += (long) palette.getPalette().size() * Integer.BYTES;
+        }
+        return usage;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.util.XXHash64;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Holds chunks that are shared between sessions connected to the same world of the same server.
+ * <p>
+ * When a session receives a chunk, the chunk data is compared by hash against the chunk other sessions have received
+ * at that position. If it matches, the existing block data is reused instead of keeping another copy. Shared block
+ * data is never modified; block updates that sessions receive afterwards are stored per session in a
+ * {@link SharedGeyserChunk}. A chunk is evicted once every session that uses it has unloaded it.
+ */
+public final class SharedChunkStore {
+    private static final ConcurrentMap<ChunkKey, Entry> CHUNKS = new ConcurrentHashMap<>();
+    private static final long SECOND_SEED = 0x9E3779B97F4A7C15L;
+
+    private SharedChunkStore() {
+    }
+
+    /**
+     * Gets the shared chunk at this position, or stores a new one if no other session has this chunk data.
+     *
+     * @param chunkData the raw chunk data sent by the Java server
+     * @param sections reads the chunk sections from the chunk data, if the chunk isn't already stored
+     */
+    public static SharedGeyserChunk acquire(World world, long chunkPosition, byte[] chunkData, Supplier<DataPalette[]> sections, boolean compact) {
+        ChunkKey key = new ChunkKey(world, chunkPosition);
+        long hash = XXHash64.hash(chunkData);
+        // A second, independently seeded hash makes it practically impossible for different chunks to be mistaken for each other
+        long secondHash = XXHash64.hash(chunkData, 0, chunkData.length, SECOND_SEED);
+        // Parsed outside the map, so sessions receiving other chunks don't have to wait on it
+        Entry parsed = null;
+        while (true) {
+            Entry existing = CHUNKS.get(key);
+            if (existing != null && existing.matches(hash, secondHash, chunkData.length)) {
+                if (existing.retain()) {
+                    return new SharedGeyserChunk(key, existing);
+                }
+                // The last session using it has just released it; replace it
+            }
+
+            if (parsed == null) {
+                parsed = new Entry(hash, secondHash, chunkData.length, GeyserChunk.from(sections.get(), compact));
+            }
+            // Sessions still holding onto a previous version of this chunk keep using it
+            boolean installed = existing == null ? CHUNKS.putIfAbsent(key, parsed) == null : CHUNKS.replace(key, existing, parsed);
+            if (installed) {
+                return new SharedGeyserChunk(key, parsed);
+            }
+        }
+    }
+
+    static void release(ChunkKey key, Entry entry) {
+        if (entry.references.decrementAndGet() == 0) {
+            // Does nothing if this version has already been replaced
+            CHUNKS.remove(key, entry);
+        }
+    }
+
+    /**
+     * @return the amount of chunks currently shared
+     */
+    public static int size() {
+        return CHUNKS.size();
+    }
+
+    /**
+     * @return the approximate amount of bytes the shared chunks take up in memory
+     */
+    public static long memoryUsage() {
+        long usage = 0;
+        for (Entry entry : CHUNKS.values()) {
+            usage += entry.chunk.memoryUsage();
+        }
+        return usage;
+    }
+
+    /**
+     * Identifies a world on a server. Chunks are only shared between sessions in the same world.
+     */
+    public record World(String address, int port, @Nullable Key name, int minY, int height) {
+    }
+
+    record ChunkKey(World world, long chunkPosition) {
+    }
+
+    static final class Entry {
+        private final long hash;
+        private final long secondHash;
+        private final int length;
+        final GeyserChunk chunk;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Entry(long hash, long secondHash, int length, GeyserChunk chunk) {
+            this.hash = hash;
+            this.secondHash = secondHash;
+            this.length = length;
+            this.chunk = chunk;
+        }
+
+        private boolean matches(long hash, long secondHash, int length) {
+            return this.hash == hash && this.secondHash == secondHash && this.length == length;
+        }
+
+        /**
+         * @return false if every session has already released this chunk, so it can no longer be used
+         */
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+
+/**
+ * A session's view of a chunk in the {@link SharedChunkStore}. Block updates are kept in an overlay for this session
+ * only, as other sessions may not have received them yet - or at all.
+ */
+public final class SharedGeyserChunk implements GeyserChunk {
+    /**
+     * Approximate size of an overlay entry in memory.
+     */
+    private static final int OVERLAY_ENTRY_SIZE = 16;
+
+    private final SharedChunkStore.ChunkKey key;
+    private final SharedChunkStore.Entry entry;
+    private Int2IntMap overlay;
+
+    SharedGeyserChunk(SharedChunkStore.ChunkKey key, SharedChunkStore.Entry entry) {
+        this.key = key;
+        this.entry = entry;
+    }
+
+    @Override
+    public int sectionCount() {
+        return entry.chunk.sectionCount();
+    }
+
+    @Override
+    public int getBlockAt(int sectionIndex, int x, int y, int z) {
+        if (overlay != null) {
+            int block = overlay.get(overlayIndex(sectionIndex, x, y, z));
+            if (block != -1) {
+                return block;
+            }
+        }
+        return entry.chunk.getBlockAt(sectionIndex, x, y, z);
+    }
+
+    @Override
+    public long setBlockAt(int sectionIndex, int x, int y, int z, int block) {
+        int index = overlayIndex(sectionIndex, x, y, z);
+        if (entry.chunk.getBlockAt(sectionIndex, x, y, z) == block) {
+            // Back to what everyone else has
+            if (overlay != null && overlay.remove(index) != -1) {
+                return -OVERLAY_ENTRY_SIZE;
+            }
+            return 0;
+        }
+
+        if (overlay == null) {
+            overlay = new Int2IntOpenHashMap();
+            overlay.defaultReturnValue(-1);
+        }
+        return overlay.put(index, block) == -1 ? OVERLAY_ENTRY_SIZE : 0;
+    }
+
+    /**
+     * Only counts this session's changes, as the shared chunk is accounted for by the {@link SharedChunkStore}.
+     */
+    @Override
+    public long memoryUsage() {
+        return overlay == null ? 0 : (long) overlay.size() * OVERLAY_ENTRY_SIZE;
+    }
+
+    /**
+     * Must be called once this session no longer uses this chunk.
+     */
+    public void release() {
+        SharedChunkStore.release(key, entry);
+    }
+
+    private static int overlayIndex(int sectionIndex, int x, int y, int z) {
+        return sectionIndex << 12 | y << 8 | z << 4 | x;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+
+/**
+ * Converts chunk section data between the Java and Bedrock layouts in bulk.
+ * <p>
+ * Java stores section entries in YZX order packed into longs, while Bedrock stores them in XZY order packed into
+ * ints. Rather than reading and writing each of the 4096 entries through their index, the Java data is unpacked one
+ * long at a time into a scratch array, and Bedrock words are then filled one at a time in XZY order.
+ */
+public final class BitArrayTranscoder {
+
+    private BitArrayTranscoder() {
+    }
+
+    /**
+     * Unpacks every entry of a Java bit storage into the given array, keeping the YZX order.
+     *
+     * @param storage the Java storage, using at least one bit per entry
+     * @param out the array to write to, at least as long as the storage size
+     */
+    public static void unpack(BitStorage storage, int[] out) {
+        long[] data = storage.getData();
+        int bits = storage.getBitsPerEntry();
+        int size = storage.getSize();
+        // Since 1.16, entries never span two longs
+        int valuesPerLong = Long.SIZE / bits;
+        long mask = (1L << bits) - 1L;
+
+        int index = 0;
+        for (int i = 0; i < data.length && index < size; i++) {
+            long word = data[i];
+            int end = Math.min(index + valuesPerLong, size);
+            for (; index < end; index++) {
+                out[index] = (int) (word & mask);
+                word >>>= bits;
+            }
+        }
+    }
+
+    /**
+     * Packs a full section of YZX ordered entries into a Bedrock bit array, in XZY order.
+     *
+     * @param values the entries in YZX order, each of which must fit in the given version
+     * @param version the Bedrock bit array version to pack into
+     * @return the packed bit array
+     */
+    public static BitArray packXZY(int[] values, BitArrayVersion version) {
+        if (version == BitArrayVersion.V0) {
+            return SingletonBitArray.INSTANCE;
+        }
+
+        int bits = version.bits;
+        int entriesPerWord = version.entriesPerWord;
+        int[] words = new int[(BlockStorage.SIZE + entriesPerWord - 1) / entriesPerWord];
+
+        int xzy = 0;
+        for (int i = 0; i < words.length; i++) {
+            int word = 0;
+            int end = Math.min(xzy + entriesPerWord, BlockStorage.SIZE);
+            for (int shift = 0; xzy < end; xzy++, shift += bits) {
+                word |= values[indexXZYtoYZX(xzy)] << shift;
+            }
+            words[i] = word;
+        }
+        return version.createArray(BlockStorage.SIZE, words);
+    }
+
+    /**
+     * Packs a full section into a {@link BitArrayVersion#V1} array, in XZY order, where an entry is set if
+     * its YZX ordered palette ID is flagged.
+     *
+     * @param values the palette IDs in YZX order
+     * @param flagged which palette IDs should be set
+     * @return the packed bit array
+     */
+    public static BitArray packFlagsXZY(int[] values, boolean[] flagged) {
+        int[] words = new int[BlockStorage.SIZE >> 5];
+        int xzy = 0;
+        for (int i = 0; i < words.length; i++) {
+            int word = 0;
+            for (int bit = 0; bit < Integer.SIZE; bit++, xzy++) {
+                if (flagged[values[indexXZYtoYZX(xzy)]]) {
+                    word |= 1 << bit;
+                }
+            }
+            words[i] = word;
+        }
+        return BitArrayVersion.V1.createArray(BlockStorage.SIZE, words);
+    }
+
+    private static int indexXZYtoYZX(int xzy) {
+        return ((xzy & 0xF) << 8) | (xzy & 0xF0) | (xzy >> 8);
+    }
+}
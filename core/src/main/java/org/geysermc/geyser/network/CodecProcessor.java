@@ -89,6 +89,8 @@ import org.cloudburstmc.protocol.bedrock.packet.SimpleEventPacket;
 import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket;
 import org.cloudburstmc.protocol.bedrock.packet.SubClientLoginPacket;
 import org.cloudburstmc.protocol.common.util.VarInts;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 
 /**
  * Processes the Bedrock codec to remove or modify unused or unsafe packets and fields.
@@ -294,9 +296,7 @@ class CodecProcessor {
             .updateSerializer(ClientCheatAbilityPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(CraftingEventPacket.class, ILLEGAL_SERIALIZER)
             // Illegal unusued serverbound packets that relate to unused features
-            .updateSerializer(ClientCacheBlobStatusPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(SubClientLoginPacket.class, ILLEGAL_SERIALIZER)
-            .updateSerializer(SubChunkRequestPacket.class, ILLEGAL_SERIALIZER)
             .updateSerializer(GameTestRequestPacket.class, ILLEGAL_SERIALIZER)
             // Illegal bidirectional packets
             .updateSerializer(DebugInfoPacket.class, ILLEGAL_SERIALIZER)
@@ -311,7 +311,6 @@ class CodecProcessor {
             .updateSerializer(SettingsCommandPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(AnvilDamagePacket.class, IGNORED_SERIALIZER)
             // Ignored bidirectional packets
-            .updateSerializer(ClientCacheStatusPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(SimpleEventPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(MultiplayerSettingsPacket.class, IGNORED_SERIALIZER)
             .updateSerializer(EmoteListPacket.class, IGNORED_SERIALIZER)
@@ -324,6 +323,17 @@ class CodecProcessor {
             .updateSerializer(SetEntityMotionPacket.class, SET_ENTITY_MOTION_SERIALIZER)
             .updateSerializer(SetEntityLinkPacket.class, SET_ENTITY_LINK_SERIALIZER);
 
+        if (!SubChunkCache.ENABLED) {
+            // Only sent when chunks are sent as sub chunks that the client requests
+            codecBuilder.updateSerializer(SubChunkRequestPacket.class, ILLEGAL_SERIALIZER);
+        }
+
+        if (!ChunkBlobCache.ENABLED) {
+            // Only needed when chunks are sent using the client blob cache
+            codecBuilder.updateSerializer(ClientCacheBlobStatusPacket.class, ILLEGAL_SERIALIZER);
+            codecBuilder.updateSerializer(ClientCacheStatusPacket.class, IGNORED_SERIALIZER);
+        }
+
         if (!Boolean.getBoolean("Geyser.ReceiptPackets")) {
             codecBuilder.updateSerializer(RefreshEntitlementsPacket.class, IGNORED_SERIALIZER);
             codecBuilder.updateSerializer(PurchaseReceiptPacket.class, IGNORED_SERIALIZER);
@@ -27,6 +27,7 @@ package org.geysermc.geyser.network;
 
 import io.netty.channel.Channel;
 import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -37,6 +38,7 @@ import org.cloudburstmc.protocol.bedrock.netty.codec.packet.BedrockPacketCodec;
 import org.cloudburstmc.protocol.bedrock.netty.initializer.BedrockServerInitializer;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.TickScheduler;
 
 public class GeyserServerInitializer extends BedrockServerInitializer {
     private final GeyserImpl geyser;
@@ -62,7 +64,8 @@ public class GeyserServerInitializer extends BedrockServerInitializer {
     public void initSession(@NonNull BedrockServerSession bedrockServerSession) {
         try {
             bedrockServerSession.setLogging(this.geyser.config().debugMode());
-            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, this.eventLoopGroup.next());
+            EventLoop eventLoop = TickScheduler.ENABLED ? TickScheduler.assign(this.eventLoopGroup) : this.eventLoopGroup.next();
+            GeyserSession session = new GeyserSession(this.geyser, bedrockServerSession, eventLoop);
 
             if (!bedrockServerSession.isSubClient()) {
                 Channel channel = bedrockServerSession.getPeer().getChannel();
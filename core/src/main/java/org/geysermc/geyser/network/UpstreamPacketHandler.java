@@ -25,8 +25,12 @@
 
 package org.geysermc.geyser.network;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import org.cloudburstmc.math.vector.Vector2f;
+import org.cloudburstmc.netty.channel.raknet.RakChildChannel;
+import org.cloudburstmc.netty.handler.codec.raknet.common.RakSessionCodec;
 import org.cloudburstmc.protocol.bedrock.BedrockDisconnectReasons;
 import org.cloudburstmc.protocol.bedrock.codec.BedrockCodec;
 import org.cloudburstmc.protocol.bedrock.codec.compat.BedrockCompat;
@@ -52,6 +56,7 @@ import org.cloudburstmc.protocol.bedrock.packet.SetTitlePacket;
 import org.cloudburstmc.protocol.common.PacketSignal;
 import org.cloudburstmc.protocol.common.util.Zlib;
 import org.geysermc.api.util.BedrockPlatform;
+import org.geysermc.floodgate.util.DeviceOs;
 import org.geysermc.geyser.Constants;
 import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.api.event.bedrock.SessionInitializeEvent;
@@ -62,6 +67,7 @@ import org.geysermc.geyser.api.pack.ResourcePackManifest;
 import org.geysermc.geyser.api.pack.option.ResourcePackOption;
 import org.geysermc.geyser.event.type.SessionLoadResourcePacksEventImpl;
 import org.geysermc.geyser.pack.GeyserResourcePack;
+import org.geysermc.geyser.pack.ResourcePackChunkStore;
 import org.geysermc.geyser.pack.ResourcePackHolder;
 import org.geysermc.geyser.pack.url.GeyserUrlPackCodec;
 import org.geysermc.geyser.registry.BlockRegistries;
@@ -69,6 +75,7 @@ import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.loader.ResourcePackLoader;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.PendingMicrosoftAuthentication;
+import org.geysermc.geyser.session.auth.LoginCryptoExecutor;
 import org.geysermc.geyser.text.GeyserLocale;
 import org.geysermc.geyser.util.LoginEncryptionUtils;
 import org.geysermc.geyser.util.MathUtils;
@@ -95,6 +102,13 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     private final CompressionStrategy compressionStrategy;
     // Avoid overloading consoles when downloading larger resource packs
     private static final int PACKET_SEND_DELAY = 4 * 50;
+    /**
+     * Whether non-console clients should get pack chunks as fast as they keep up with, rather than at a fixed rate.
+     */
+    private static final boolean ADAPTIVE_PACK_PACING = Boolean.getBoolean("Geyser.AdaptivePackPacing");
+    private static final int MIN_PACKET_SEND_DELAY = 10;
+    private static final int MAX_PACKET_SEND_DELAY = 4 * PACKET_SEND_DELAY;
+    private long packetSendDelay = PACKET_SEND_DELAY;
     private final Queue<ResourcePackChunkRequestPacket> chunkRequestQueue = new ConcurrentLinkedQueue<>();
     private boolean currentlySendingChunks = false;
     private SessionLoadResourcePacksEventImpl resourcePackLoadEvent;
@@ -200,17 +214,27 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         }
         receivedLoginPacket = true;
 
+        if (LoginCryptoExecutor.ENABLED) {
+            // Verified off the network thread; the login continues once that is done
+            LoginEncryptionUtils.encryptPlayerConnectionAsync(session, loginPacket, () -> continueLogin(loginPacket));
+            return PacketSignal.HANDLED;
+        }
+
         LoginEncryptionUtils.encryptPlayerConnection(session, loginPacket);
+        continueLogin(loginPacket);
+        return PacketSignal.HANDLED;
+    }
 
+    private void continueLogin(LoginPacket loginPacket) {
         if (session.isClosed()) {
             // Can happen if Xbox validation fails
             session.forciblyCloseUpstream();
-            return PacketSignal.HANDLED;
+            return;
         }
 
         if (geyser.getSessionManager().isXuidAlreadyPending(session.xuid()) || geyser.getSessionManager().sessionByXuid(session.xuid()) != null) {
             session.disconnect(GeyserLocale.getLocaleStringLog("geyser.auth.already_loggedin", session.bedrockUsername()));
-            return PacketSignal.HANDLED;
+            return;
         }
 
         // Set the block translation based off of version
@@ -230,7 +254,7 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         this.geyser.eventBus().fireEventElseKick(this.resourcePackLoadEvent, session);
         if (session.isClosed()) {
             // Can happen if an error occurs in the resource pack event; that'll disconnect the player
-            return PacketSignal.HANDLED;
+            return;
         }
         session.integratedPackActive(resourcePackLoadEvent.isIntegratedPackActive());
 
@@ -246,7 +270,6 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         session.sendUpstreamPacket(resourcePacksInfo);
 
         GeyserLocale.loadGeyserLocale(session.locale());
-        return PacketSignal.HANDLED;
     }
 
     @Override
@@ -396,22 +419,27 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
 
         int offset = packet.getChunkIndex() * GeyserResourcePack.CHUNK_SIZE;
         long remainingSize = codec.size() - offset;
-        byte[] packData = new byte[(int) MathUtils.constrain(remainingSize, 0, GeyserResourcePack.CHUNK_SIZE)];
-
-        try (SeekableByteChannel channel = codec.serialize()) {
-            channel.position(offset);
-            channel.read(ByteBuffer.wrap(packData, 0, packData.length));
-        } catch (IOException e) {
-            session.disconnect("disconnectionScreen.resourcePack");
-            e.printStackTrace();
+        int length = (int) MathUtils.constrain(remainingSize, 0, GeyserResourcePack.CHUNK_SIZE);
+
+        ByteBuf packData = ResourcePackChunkStore.ENABLED ? ResourcePackChunkStore.chunk(codec, offset, length) : null;
+        if (packData == null) {
+            byte[] bytes = new byte[length];
+            try (SeekableByteChannel channel = codec.serialize()) {
+                channel.position(offset);
+                channel.read(ByteBuffer.wrap(bytes, 0, bytes.length));
+            } catch (IOException e) {
+                session.disconnect("disconnectionScreen.resourcePack");
+                e.printStackTrace();
+            }
+            packData = Unpooled.wrappedBuffer(bytes);
         }
 
-        data.setData(Unpooled.wrappedBuffer(packData));
+        data.setData(packData);
 
         // Also flushes packets
         // Avoids bursting slower / delayed clients
         session.sendUpstreamPacketImmediately(data);
-        session.scheduleInEventLoop(this::processNextChunk, PACKET_SEND_DELAY, TimeUnit.MILLISECONDS);
+        session.scheduleInEventLoop(this::processNextChunk, nextPacketSendDelay(), TimeUnit.MILLISECONDS);
 
         // Check if it is the last chunk and send next pack in queue when available.
         if (remainingSize <= GeyserResourcePack.CHUNK_SIZE && !packsToSend.isEmpty()) {
@@ -419,6 +447,29 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
         }
     }
 
+    /**
+     * Consoles always get the fixed delay. Other clients are sent chunks about once per round trip while RakNet keeps
+     * up with acknowledging them, and are backed off when unacknowledged data starts piling up.
+     */
+    private long nextPacketSendDelay() {
+        if (!ADAPTIVE_PACK_PACING) {
+            return PACKET_SEND_DELAY;
+        }
+        DeviceOs deviceOs = session.getClientData().getDeviceOs();
+        if (deviceOs == DeviceOs.XBOX || deviceOs == DeviceOs.PS4 || deviceOs == DeviceOs.NX) {
+            return PACKET_SEND_DELAY;
+        }
+
+        Channel channel = session.getUpstream().getSession().getPeer().getChannel();
+        if (!channel.isWritable()) {
+            packetSendDelay = Math.min(packetSendDelay * 2, MAX_PACKET_SEND_DELAY);
+        } else {
+            long roundTrip = (long) ((RakChildChannel) channel).rakPipeline().get(RakSessionCodec.class).getPing();
+            packetSendDelay = Math.max(Math.max(MIN_PACKET_SEND_DELAY, roundTrip), packetSendDelay * 3 / 4);
+        }
+        return packetSendDelay;
+    }
+
     private void sendPackDataInfo(String id) {
         ResourcePackDataInfoPacket data = new ResourcePackDataInfoPacket();
         String[] packID = id.split("_");
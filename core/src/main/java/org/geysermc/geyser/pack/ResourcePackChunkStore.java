@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.pack;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+import org.geysermc.geyser.api.pack.PackCodec;
+import org.geysermc.geyser.api.pack.PathPackCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the contents of each resource pack once for all sessions, so sending a pack chunk is a slice of a shared
+ * buffer instead of opening the pack and copying the chunk into a new array.
+ * <p>
+ * Packs are copied into a direct buffer once, and read again if they change on disk.
+ */
+public final class ResourcePackChunkStore {
+    /**
+     * Whether pack chunks should be served from this store.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.SharedPackStore");
+
+    /**
+     * Keyed by codec identity; packs that are no longer registered anywhere are dropped with their codec.
+     */
+    private static final Cache<PackCodec, Pack> PACKS = CacheBuilder.newBuilder()
+        .weakKeys()
+        .removalListener((RemovalNotification<PackCodec, Pack> notification) -> notification.getValue().release())
+        .build();
+
+    private ResourcePackChunkStore() {
+    }
+
+    /**
+     * @return a retained slice of the pack, or null if the pack could not be loaded into the store
+     */
+    public static @Nullable ByteBuf chunk(PackCodec codec, int offset, int length) {
+        while (true) {
+            Pack pack = pack(codec);
+            if (pack == null) {
+                return null;
+            }
+            // If the pack was replaced in the meantime, get the new one
+            if (pack.retain()) {
+                try {
+                    return pack.buffer.retainedSlice(offset, length);
+                } finally {
+                    pack.release();
+                }
+            }
+        }
+    }
+
+    private static @Nullable Pack pack(PackCodec codec) {
+        long size = codec.size();
+        if (size > Integer.MAX_VALUE) {
+            return null;
+        }
+
+        try {
+            Pack pack = PACKS.getIfPresent(codec);
+            if (pack != null && (pack.buffer.capacity() != size || pack.modified != lastModified(codec))) {
+                // The pack changed since we loaded it
+                PACKS.asMap().remove(codec, pack);
+            }
+
+            return PACKS.get(codec, () -> load(codec, (int) size));
+        } catch (IOException | ExecutionException e) {
+            GeyserImpl.getInstance().getLogger().error("Unable to load resource pack into the shared pack store",
+                e instanceof ExecutionException ? e.getCause() : e);
+            return null;
+        }
+    }
+
+    /**
+     * @return when the pack was last changed on disk, or 0 if it isn't a file
+     */
+    private static long lastModified(PackCodec codec) throws IOException {
+        if (codec instanceof PathPackCodec pathCodec) {
+            return Files.getLastModifiedTime(pathCodec.path()).toMillis();
+        }
+        return 0;
+    }
+
+    private static Pack load(PackCodec codec, int size) throws IOException {
+        // Read before the contents, so a change while reading is picked up next time
+        long modified = lastModified(codec);
+        ByteBuf pack = ByteBufAllocator.DEFAULT.directBuffer(size, size);
+        try (SeekableByteChannel channel = codec.serialize()) {
+            ByteBuffer target = pack.nioBuffer(0, size);
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    throw new IOException("Resource pack is smaller than its reported size");
+                }
+            }
+            pack.writerIndex(size);
+        } catch (IOException | RuntimeException e) {
+            pack.release();
+            throw e;
+        }
+        return new Pack(pack, modified);
+    }
+
+    /**
+     * A loaded pack. The store holds one reference, and every chunk being sliced from it holds another while slicing,
+     * so the buffer is only released once it is out of the store and no longer being sliced.
+     */
+    private static final class Pack {
+        private final ByteBuf buffer;
+        private final long modified;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Pack(ByteBuf buffer, long modified) {
+            this.buffer = buffer;
+            this.modified = modified;
+        }
+
+        /**
+         * @return false if this pack has already been released, so it can no longer be used
+         */
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                buffer.release();
+            }
+        }
+    }
+}
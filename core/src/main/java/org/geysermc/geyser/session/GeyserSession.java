@@ -131,14 +131,15 @@ import org.geysermc.geyser.entity.VanillaEntities;
 import org.geysermc.geyser.entity.attribute.GeyserAttributeType;
 import org.geysermc.geyser.entity.type.BoatEntity;
 import org.geysermc.geyser.entity.type.Entity;
-import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.entity.type.Tickable;
 import org.geysermc.geyser.entity.type.player.PlayerEntity;
 import org.geysermc.geyser.entity.type.player.SessionPlayerEntity;
 import org.geysermc.geyser.entity.vehicle.ClientVehicle;
 import org.geysermc.geyser.erosion.AbstractGeyserboundPacketHandler;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
 import org.geysermc.geyser.erosion.ErosionCancellationException;
 import org.geysermc.geyser.erosion.GeyserboundHandshakePacketHandler;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.event.type.SessionDisconnectEventImpl;
 import org.geysermc.geyser.impl.camera.CameraDefinitions;
 import org.geysermc.geyser.impl.camera.GeyserCameraData;
@@ -169,17 +170,22 @@ import org.geysermc.geyser.session.cache.AdvancementsCache;
 import org.geysermc.geyser.session.cache.BlockBreakHandler;
 import org.geysermc.geyser.session.cache.BookEditCache;
 import org.geysermc.geyser.session.cache.BundleCache;
+import org.geysermc.geyser.session.cache.ChunkBlobCache;
 import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ChunkEncodingQueue;
 import org.geysermc.geyser.session.cache.ComponentCache;
 import org.geysermc.geyser.session.cache.EntityCache;
 import org.geysermc.geyser.session.cache.EntityEffectCache;
 import org.geysermc.geyser.session.cache.FormCache;
 import org.geysermc.geyser.session.cache.InputCache;
+import org.geysermc.geyser.session.cache.ItemDataCache;
+import org.geysermc.geyser.session.cache.ItemFrameCache;
 import org.geysermc.geyser.session.cache.LodestoneCache;
 import org.geysermc.geyser.session.cache.PistonCache;
 import org.geysermc.geyser.session.cache.PreferencesCache;
 import org.geysermc.geyser.session.cache.RegistryCache;
 import org.geysermc.geyser.session.cache.SkullCache;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 import org.geysermc.geyser.session.cache.StructureBlockCache;
 import org.geysermc.geyser.session.cache.TagCache;
 import org.geysermc.geyser.session.cache.TeleportCache;
@@ -259,6 +265,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
@@ -296,7 +303,9 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final AdvancementsCache advancementsCache;
     private final BookEditCache bookEditCache;
     private final BundleCache bundleCache;
+    private final ChunkBlobCache chunkBlobCache;
     private final ChunkCache chunkCache;
+    private final ChunkEncodingQueue chunkEncodingQueue;
     private final ComponentCache componentCache;
     private final EntityCache entityCache;
     private final EntityEffectCache effectCache;
@@ -308,6 +317,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private final PreferencesCache preferencesCache;
     private final RegistryCache registryCache;
     private final SkullCache skullCache;
+    private final SubChunkCache subChunkCache;
     private final StructureBlockCache structureBlockCache;
     private final TagCache tagCache;
     private final WaypointCache waypointCache;
@@ -414,10 +424,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     private ItemMappings itemMappings;
 
     /**
-     * A map of Vector3i positions to Java entities.
+     * Item frames by their Bedrock block position.
      * Used for translating Bedrock block actions to Java entity actions.
      */
-    private final Map<Vector3i, ItemFrameEntity> itemFrameCache = new Object2ObjectOpenHashMap<>();
+    private final ItemFrameCache itemFrameCache = new ItemFrameCache();
+
+    /**
+     * Bedrock items that have already been translated.
+     */
+    private final ItemDataCache itemDataCache = new ItemDataCache();
 
     /**
      * A map of all players (and their heads) that are wearing a player head with a custom texture.
@@ -743,6 +758,16 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      * The thread that will run every game tick.
      */
     private ScheduledFuture<?> tickThread = null;
+    /**
+     * Used instead of {@link #tickThread} when ticking is driven by the {@link TickScheduler}.
+     */
+    private TickScheduler.Ticket tickTicket = null;
+    /**
+     * Whether this session still counts towards the load of its event loop in the {@link TickScheduler}, without
+     * having started ticking.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean tickLoopAssigned = new AtomicBoolean(TickScheduler.ENABLED);
 
     /**
      * The number of ticks that have elapsed since the start of this session
@@ -855,7 +880,9 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.advancementsCache = new AdvancementsCache(this);
         this.bookEditCache = new BookEditCache(this);
         this.bundleCache = new BundleCache(this);
+        this.chunkBlobCache = new ChunkBlobCache(this);
         this.chunkCache = new ChunkCache(this);
+        this.chunkEncodingQueue = new ChunkEncodingQueue(this);
         this.componentCache = new ComponentCache(this);
         this.entityCache = new EntityCache(this);
         this.effectCache = new EntityEffectCache();
@@ -866,6 +893,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.preferencesCache = new PreferencesCache(this);
         this.registryCache = new RegistryCache(this);
         this.skullCache = new SkullCache(this);
+        this.subChunkCache = new SubChunkCache(this);
         this.structureBlockCache = new StructureBlockCache();
         this.tagCache = new TagCache(this);
         this.waypointCache = new WaypointCache(this);
@@ -1172,7 +1200,7 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
         this.remoteServer = this.geyser.platformType() == PlatformType.STANDALONE ? loginEvent.remoteServer() : remoteServer;
 
         // Start ticking
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        startTicking();
 
         ClientSession downstream;
         if (geyser.getBootstrap().getSocketAddress() != null) {
@@ -1256,13 +1284,16 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
 
             // Remove from session manager
             geyser.getSessionManager().removeSession(this);
+            // Let go of any chunks shared with other sessions
+            if (ChunkCache.isShared()) {
+                ensureInEventLoop(chunkCache::clear);
+            }
+            ensureInEventLoop(registryCache::release);
             // Don't cancel any pending Microsoft auth here - the whole point of PendingMicrosoftAuthentication
             // is to let mobile users disconnect to finish auth in the browser. Task cleans up on timeout.
         }
 
-        if (tickThread != null) {
-            tickThread.cancel(false);
-        }
+        stopTicking();
 
         queuedImmediatelyPackets.clear();
 
@@ -1313,13 +1344,39 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
     }
 
     public void updateTickingState(float tickRate, boolean frozen) {
-        tickThread.cancel(false);
+        stopTicking();
         this.tickingFrozen = frozen;
 
         tickRate = MathUtils.clamp(tickRate, 1.0f, 10000.0f);
         millisecondsPerTick = 1000.0f / tickRate;
         nanosecondsPerTick = MathUtils.ceil(1000000000.0f / tickRate);
-        tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        startTicking();
+    }
+
+    private void startTicking() {
+        if (TickScheduler.ENABLED) {
+            releaseTickLoop();
+            tickTicket = TickScheduler.schedule(this, tickEventLoop, nanosecondsPerTick);
+        } else {
+            tickThread = tickEventLoop.scheduleAtFixedRate(this::tick, nanosecondsPerTick, nanosecondsPerTick, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void stopTicking() {
+        if (tickThread != null) {
+            tickThread.cancel(false);
+        }
+        if (tickTicket != null) {
+            tickTicket.cancel();
+        }
+        releaseTickLoop();
+    }
+
+    private void releaseTickLoop() {
+        // May be called from another thread on disconnect
+        if (tickLoopAssigned.compareAndSet(true, false)) {
+            TickScheduler.release(tickEventLoop);
+        }
     }
 
     private void executeRunnable(Runnable runnable) {
@@ -1337,7 +1394,16 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
      */
     protected void tick() {
         try {
+            if (ErosionBlockCache.PIPELINED) {
+                GeyserboundPacketHandlerImpl erosion = erosionHandler.getAsActive();
+                if (erosion != null) {
+                    // Request the blocks around the player early, so they're here by the time movement comes in
+                    erosion.getBlockCache().tick();
+                }
+            }
+
             pistonCache.tick();
+            skullCache.tick();
 
             worldBorder.tick();
 
@@ -1368,8 +1434,11 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             }
 
             for (Iterator<Entity> it = entityCache.getDirtyEntities().iterator(); it.hasNext(); ) {
-                it.next().updateBedrockMetadata();
-                it.remove();
+                Entity entity = it.next();
+                if (entityCache.shouldUpdateThisTick(entity)) {
+                    entity.updateBedrockMetadata();
+                    it.remove();
+                }
             }
 
             for (Tickable entity : entityCache.getTickableEntities()) {
@@ -1414,6 +1483,15 @@ public class GeyserSession implements GeyserConnection, GeyserCommandSource {
             this.dialogManager.tick();
             this.waypointCache.tick();
 
+            // Send entity movement that was merged during this tick
+            for (Iterator<Entity> it = entityCache.getMovedEntities().iterator(); it.hasNext(); ) {
+                Entity entity = it.next();
+                if (entityCache.shouldUpdateThisTick(entity)) {
+                    entity.sendPendingMovement();
+                    it.remove();
+                }
+            }
+
             this.upstream.getSession().getPeer().sendPacketsImmediately(0, 0, queuedImmediatelyPackets.toArray(new BedrockPacket[0]));
             queuedImmediatelyPackets.clear();
 
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session;
+
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.GeyserImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ticks all sessions of an event loop from one timer, instead of every session scheduling its own.
+ * <p>
+ * Tick deadlines are aligned to multiples of the tick period, so sessions with the same tick rate on the same event
+ * loop are ticked in the same wake-up, and deadlines advance by exactly one period so they don't drift. Since a session
+ * can't leave its event loop, load is balanced by giving new sessions the event loop with the least measured tick cost.
+ */
+public final class TickScheduler {
+    /**
+     * Whether sessions should be ticked by this scheduler instead of a scheduled task each.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.SharedTickScheduler");
+
+    private static final ConcurrentMap<EventLoop, LoopTicker> TICKERS = new ConcurrentHashMap<>();
+    /**
+     * The load of a session that hasn't been measured yet, at 20 ticks per second.
+     */
+    private static final long UNMEASURED_LOAD = 1000 * 20;
+
+    private TickScheduler() {
+    }
+
+    /**
+     * Starts ticking a session on its event loop.
+     *
+     * @return a ticket to stop ticking with
+     */
+    public static Ticket schedule(GeyserSession session, EventLoop eventLoop, long nanosecondsPerTick) {
+        Ticket ticket = new Ticket(session, nanosecondsPerTick);
+        TICKERS.computeIfAbsent(eventLoop, LoopTicker::new).add(ticket);
+        return ticket;
+    }
+
+    /**
+     * Picks the event loop of the group that currently spends the least time ticking sessions for a new session. Until
+     * the session starts ticking, it counts towards the load of that event loop as a session of average cost, so that
+     * a burst of new connections is spread out. {@link #release(EventLoop)} must be called once it starts ticking or
+     * disconnects.
+     *
+     * @return the event loop the new session should use
+     */
+    public static EventLoop assign(EventLoopGroup group) {
+        EventLoop best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (EventExecutor executor : group) {
+            EventLoop eventLoop = (EventLoop) executor;
+            LoopTicker ticker = TICKERS.get(eventLoop);
+            long load = ticker == null ? 0 : ticker.load();
+            if (load < bestLoad) {
+                best = eventLoop;
+                bestLoad = load;
+            }
+        }
+        if (best == null) {
+            best = group.next();
+        }
+        TICKERS.computeIfAbsent(best, LoopTicker::new).assigned.incrementAndGet();
+        return best;
+    }
+
+    /**
+     * Stops counting a session given out by {@link #assign(EventLoopGroup)} that isn't ticking yet.
+     */
+    public static void release(EventLoop eventLoop) {
+        LoopTicker ticker = TICKERS.get(eventLoop);
+        if (ticker != null) {
+            ticker.assigned.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the tickets of every session that is being ticked
+     */
+    public static List<Ticket> tickets() {
+        List<Ticket> tickets = new ArrayList<>();
+        for (LoopTicker ticker : TICKERS.values()) {
+            tickets.addAll(ticker.tickets);
+        }
+        return tickets;
+    }
+
+    /**
+     * Tick timing of a single session. Statistics are written on the session's event loop and may be slightly out of
+     * date when read from elsewhere.
+     */
+    public static final class Ticket {
+        /**
+         * Weight of the latest tick in the average tick duration.
+         */
+        private static final double AVERAGE_WEIGHT = 0.05;
+
+        private final GeyserSession session;
+        private final long period;
+        private long deadline;
+        private volatile boolean cancelled;
+
+        private volatile double averageTickNanos;
+        private volatile long maxTickNanos;
+        private volatile long overruns;
+
+        private Ticket(GeyserSession session, long period) {
+            this.session = session;
+            this.period = period;
+        }
+
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        public long averageTickNanos() {
+            return (long) averageTickNanos;
+        }
+
+        public long maxTickNanos() {
+            return maxTickNanos;
+        }
+
+        /**
+         * @return how many times this session's tick was late by a whole period or more
+         */
+        public long overruns() {
+            return overruns;
+        }
+
+        /**
+         * @return the approximate amount of nanoseconds spent ticking this session per second
+         */
+        long load() {
+            // Sessions that haven't been measured yet still count for something
+            return (long) ((averageTickNanos + 1000) * (1_000_000_000.0 / period));
+        }
+
+        private void tick(long now) {
+            long start = System.nanoTime();
+            session.tick();
+            long duration = System.nanoTime() - start;
+
+            averageTickNanos = averageTickNanos == 0 ? duration : averageTickNanos + (duration - averageTickNanos) * AVERAGE_WEIGHT;
+            if (duration > maxTickNanos) {
+                maxTickNanos = duration;
+            }
+
+            deadline += period;
+            if (deadline - now <= 0) {
+                // Skip the ticks we missed rather than running them back to back
+                overruns++;
+                deadline = alignedDeadline(now, period);
+            }
+        }
+    }
+
+    private static long alignedDeadline(long now, long period) {
+        return (Math.floorDiv(now, period) + 1) * period;
+    }
+
+    private static final class LoopTicker {
+        private final EventLoop eventLoop;
+        private final List<Ticket> tickets = new CopyOnWriteArrayList<>();
+        /**
+         * Sessions that were given this event loop, but haven't started ticking yet.
+         */
+        private final AtomicInteger assigned = new AtomicInteger();
+        private @Nullable ScheduledFuture<?> timer;
+        private long timerDeadline;
+
+        private LoopTicker(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        private void add(Ticket ticket) {
+            eventLoop.execute(() -> {
+                ticket.deadline = alignedDeadline(System.nanoTime(), ticket.period);
+                tickets.add(ticket);
+                reschedule(System.nanoTime());
+            });
+        }
+
+        private long load() {
+            long load = 0;
+            for (Ticket ticket : tickets) {
+                load += ticket.load();
+            }
+            // Sessions that aren't ticking yet are expected to cost as much as the others
+            int ticking = tickets.size();
+            long expectedLoad = ticking == 0 ? UNMEASURED_LOAD : load / ticking;
+            return load + assigned.get() * expectedLoad;
+        }
+
+        private void run() {
+            timer = null;
+            long now = System.nanoTime();
+            boolean removeCancelled = false;
+            for (Ticket ticket : tickets) {
+                if (ticket.cancelled) {
+                    removeCancelled = true;
+                    continue;
+                }
+                if (ticket.deadline - now <= 0) {
+                    try {
+                        ticket.tick(now);
+                    } catch (Throwable e) {
+                        GeyserImpl.getInstance().getLogger().error("Error while ticking " + ticket.session.bedrockUsername(), e);
+                    }
+                }
+            }
+            if (removeCancelled) {
+                tickets.removeIf(ticket -> ticket.cancelled);
+            }
+            reschedule(System.nanoTime());
+        }
+
+        private void reschedule(long now) {
+            long next = Long.MAX_VALUE;
+            boolean any = false;
+            for (Ticket ticket : tickets) {
+                if (!ticket.cancelled && (!any || ticket.deadline - next < 0)) {
+                    next = ticket.deadline;
+                    any = true;
+                }
+            }
+            if (!any) {
+                return;
+            }
+
+            if (timer != null) {
+                if (timerDeadline - next <= 0) {
+                    // Already waking up in time
+                    return;
+                }
+                timer.cancel(false);
+            }
+            timerDeadline = next;
+            timer = eventLoop.schedule(this::run, Math.max(0, next - now), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -25,6 +25,7 @@
 
 package org.geysermc.geyser.session;
 
+import io.netty.buffer.ByteBufAllocator;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -111,6 +112,15 @@ public class UpstreamSession {
         return this.session.getPeer().getCodecHelper();
     }
 
+    /**
+     * Gets the buffer allocator of this session's channel, to allocate packet data from.
+     *
+     * @return the buffer allocator for this session
+     */
+    public ByteBufAllocator alloc() {
+        return this.session.getPeer().getChannel().alloc();
+    }
+
     public void forciblyClose() {
         this.session.getPeer().getChannel().close();
     }
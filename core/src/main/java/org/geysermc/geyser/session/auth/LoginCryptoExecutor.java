@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.auth;
+
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.cloudburstmc.protocol.bedrock.util.EncryptionUtils;
+
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the expensive part of Bedrock logins (chain validation, client data verification and the encryption handshake)
+ * on a small pool of its own, so a burst of logins doesn't stall the network threads.
+ * <p>
+ * The pool only queues a limited amount of logins; anything beyond that is rejected so players get a quick
+ * "server full" instead of timing out. Server key pairs for the handshake are generated ahead of time while the
+ * pool has nothing else to do.
+ */
+public final class LoginCryptoExecutor {
+    private static final int THREADS = Integer.getInteger("Geyser.LoginCryptoThreads", 0);
+    private static final int MAX_QUEUED = Integer.getInteger("Geyser.LoginCryptoQueue", 256);
+    private static final int KEY_PAIR_POOL_SIZE = Integer.getInteger("Geyser.LoginKeyPairPool", 32);
+
+    /**
+     * Whether logins should be verified on this executor instead of the network thread.
+     */
+    public static final boolean ENABLED = THREADS > 0;
+
+    private static final ThreadPoolExecutor EXECUTOR;
+    private static final BlockingQueue<KeyPair> KEY_PAIRS;
+    private static final AtomicBoolean REFILLING = new AtomicBoolean();
+
+    private static final LongAdder COMPLETED = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+    private static final LongAdder TOTAL_NANOS = new LongAdder();
+    private static final AtomicLong MAX_NANOS = new AtomicLong();
+
+    static {
+        if (ENABLED) {
+            EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED),
+                new DefaultThreadFactory("Geyser login crypto", true));
+            EXECUTOR.allowCoreThreadTimeOut(true);
+            KEY_PAIRS = new ArrayBlockingQueue<>(Math.max(1, KEY_PAIR_POOL_SIZE));
+            refillKeyPairs();
+        } else {
+            EXECUTOR = null;
+            KEY_PAIRS = null;
+        }
+    }
+
+    private LoginCryptoExecutor() {
+    }
+
+    /**
+     * Runs a login task on the pool. The returned future fails with a {@link RejectedExecutionException} if too many
+     * logins are already waiting.
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        if (!ENABLED) {
+            throw new IllegalStateException("Login crypto executor is not enabled");
+        }
+        long start = System.nanoTime();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    recordLatency(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            REJECTED.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return a server key pair for an encryption handshake, generated ahead of time when possible
+     */
+    public static KeyPair takeKeyPair() {
+        if (KEY_PAIRS != null) {
+            KeyPair keyPair = KEY_PAIRS.poll();
+            refillKeyPairs();
+            if (keyPair != null) {
+                return keyPair;
+            }
+        }
+        return EncryptionUtils.createKeyPair();
+    }
+
+    /**
+     * Records how long a login took to verify, including any time spent waiting for the pool.
+     */
+    public static void recordLatency(long nanos) {
+        COMPLETED.increment();
+        TOTAL_NANOS.add(nanos);
+        MAX_NANOS.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void refillKeyPairs() {
+        if (!REFILLING.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    // Logins go first; only top up while nobody is waiting
+                    while (EXECUTOR.getQueue().isEmpty() && KEY_PAIRS.remainingCapacity() > 0) {
+                        KEY_PAIRS.offer(EncryptionUtils.createKeyPair());
+                    }
+                } finally {
+                    REFILLING.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Busy with logins; keys will be generated inline until a later refill gets through
+            REFILLING.set(false);
+        }
+    }
+
+    public static int queued() {
+        return ENABLED ? EXECUTOR.getQueue().size() : 0;
+    }
+
+    public static int pooledKeyPairs() {
+        return ENABLED ? KEY_PAIRS.size() : 0;
+    }
+
+    public static long completed() {
+        return COMPLETED.sum();
+    }
+
+    public static long rejected() {
+        return REJECTED.sum();
+    }
+
+    public static long averageLatencyNanos() {
+        long completed = COMPLETED.sum();
+        return completed == 0 ? 0 : TOTAL_NANOS.sum() / completed;
+    }
+
+    public static long maxLatencyNanos() {
+        return MAX_NANOS.get();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import lombok.Getter;
+import lombok.Setter;
+import org.cloudburstmc.protocol.bedrock.packet.ClientCacheMissResponsePacket;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.XXHash64;
+
+/**
+ * Tracks chunk blobs that have been referenced by hash in a cached {@link org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket}.
+ * <p>
+ * When the Bedrock client supports its blob cache, chunk sections and biome data are sent as a list of hashes. The client
+ * then tells us which of those it already has and which it is missing, and we answer the missing ones with the blob
+ * contents. Blobs are kept here until the client has told us about them.
+ */
+public class ChunkBlobCache {
+    /**
+     * Whether chunks should be sent by blob hash to clients that support the client cache.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.ChunkBlobCache");
+    /**
+     * Whether identical blobs should be shared between sessions, so that a blob that has already been encoded for
+     * one player doesn't need to be held again for another.
+     */
+    private static final boolean SHARED = Boolean.getBoolean("Geyser.SharedChunkBlobCache");
+    /**
+     * The maximum amount of blobs we hold onto per session while waiting for the client to respond.
+     */
+    private static final int MAX_PENDING_BLOBS = Integer.getInteger("Geyser.ChunkBlobCacheSize", 8192);
+
+    private static final Cache<Long, byte[]> SHARED_BLOBS = SHARED ? CacheBuilder.newBuilder()
+        .maximumSize(Integer.getInteger("Geyser.SharedChunkBlobCacheSize", 65536))
+        .build() : null;
+
+    private final GeyserSession session;
+    private final Long2ObjectLinkedOpenHashMap<byte[]> pendingBlobs;
+
+    /**
+     * If the client has told us via ClientCacheStatusPacket that it supports the blob cache.
+     */
+    @Getter
+    @Setter
+    private boolean supported;
+
+    public ChunkBlobCache(GeyserSession session) {
+        this.session = session;
+        this.pendingBlobs = ENABLED ? new Long2ObjectLinkedOpenHashMap<>() : null;
+    }
+
+    /**
+     * @return if chunks for this session should be sent using blob hashes
+     */
+    public boolean isActive() {
+        return ENABLED && supported;
+    }
+
+    /**
+     * Registers a blob that is about to be referenced in a chunk packet.
+     *
+     * @param blob the encoded blob contents. Must not be modified afterward.
+     * @return the blob ID (its xxHash64) to send to the client
+     */
+    public long registerBlob(byte[] blob) {
+        long blobId = XXHash64.hash(blob);
+        if (SHARED_BLOBS != null) {
+            byte[] existing = SHARED_BLOBS.getIfPresent(blobId);
+            if (existing != null) {
+                blob = existing;
+            } else {
+                SHARED_BLOBS.put(blobId, blob);
+            }
+        }
+
+        pendingBlobs.putAndMoveToLast(blobId, blob);
+        while (pendingBlobs.size() > MAX_PENDING_BLOBS) {
+            // The client should have answered for these long ago
+            pendingBlobs.removeFirst();
+        }
+        return blobId;
+    }
+
+    /**
+     * Handles the client's response to a cached chunk, sending any blobs the client does not have.
+     *
+     * @param acks the blob IDs the client already has
+     * @param naks the blob IDs the client is missing
+     */
+    public void onBlobStatus(LongList acks, LongList naks) {
+        if (pendingBlobs == null) {
+            return;
+        }
+
+        for (int i = 0; i < acks.size(); i++) {
+            pendingBlobs.remove(acks.getLong(i));
+        }
+
+        if (naks.isEmpty()) {
+            return;
+        }
+
+        ClientCacheMissResponsePacket packet = new ClientCacheMissResponsePacket();
+        for (int i = 0; i < naks.size(); i++) {
+            long blobId = naks.getLong(i);
+            byte[] blob = pendingBlobs.remove(blobId);
+            if (blob == null && SHARED_BLOBS != null) {
+                blob = SHARED_BLOBS.getIfPresent(blobId);
+            }
+
+            if (blob == null) {
+                session.getGeyser().getLogger().debug("Client requested unknown chunk blob " + Long.toHexString(blobId));
+                continue;
+            }
+            packet.getBlobs().put(blobId, Unpooled.wrappedBuffer(blob));
+        }
+
+        if (!packet.getBlobs().isEmpty()) {
+            session.sendUpstreamPacket(packet);
+        }
+    }
+}
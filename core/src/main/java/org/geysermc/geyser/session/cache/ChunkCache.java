@@ -29,36 +29,120 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.erosion.ErosionBlockCache;
+import org.geysermc.geyser.erosion.GeyserboundPacketHandlerImpl;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.chunk.GeyserChunk;
-import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.level.chunk.SharedChunkStore;
+import org.geysermc.geyser.level.chunk.SharedGeyserChunk;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 
+import java.util.function.Supplier;
+
 public class ChunkCache {
+    /**
+     * Whether cached chunks should be compressed into Geyser's own format rather than kept as they were sent by the
+     * server. This trades a little CPU on chunk load and block updates for considerably less memory per chunk.
+     */
+    private static final boolean COMPACT = Boolean.getBoolean("Geyser.CompactChunkCache");
+    /**
+     * Whether sessions in the same world of the same server should share identical chunks.
+     */
+    private static final boolean SHARED = Boolean.getBoolean("Geyser.SharedChunkCache");
+
+    private final GeyserSession session;
+
     @Getter
     private final boolean cache;
     private final Long2ObjectMap<GeyserChunk> chunks;
+    /**
+     * The approximate amount of bytes the cached chunks take up. Only modified on the session event loop.
+     */
+    @Getter
+    private volatile long memoryUsage;
 
     @Setter
     private int minY;
     @Setter
     private int heightY;
 
+    /**
+     * The world that chunks are currently shared in.
+     */
+    private SharedChunkStore.@Nullable World sharedWorld;
+
     public ChunkCache(GeyserSession session) {
+        this.session = session;
         this.cache = !session.getGeyser().getWorldManager().hasOwnChunkCache(); // To prevent Spigot from initializing
         chunks = cache ? new Long2ObjectOpenHashMap<>() : null;
     }
 
+    public static boolean isCompact() {
+        return COMPACT;
+    }
+
+    public static boolean isShared() {
+        return SHARED;
+    }
+
+    /**
+     * @return if the sections given to {@link #addToCache(int, int, byte[], Supplier)} are kept as they are, and are changed
+     * by block updates afterward
+     */
+    public boolean keepsSections() {
+        return cache && !SHARED && !COMPACT;
+    }
+
     public void addToCache(int x, int z, DataPalette[] chunks) {
         if (!cache) {
             return;
         }
 
+        putChunk(MathUtils.chunkPositionToLong(x, z), GeyserChunk.from(chunks, COMPACT));
+    }
+
+    /**
+     * Adds a chunk to the cache, sharing it with other sessions if enabled.
+     *
+     * @param chunkData the raw chunk data sent by the Java server
+     * @param sections reads the chunk sections from the chunk data, only called if they are needed
+     */
+    public void addToCache(int x, int z, byte[] chunkData, Supplier<DataPalette[]> sections) {
+        if (!cache) {
+            return;
+        }
+
+        if (!SHARED) {
+            addToCache(x, z, sections.get());
+            return;
+        }
+
+        Key worldName = session.getWorldName();
+        if (sharedWorld == null || sharedWorld.name() != worldName || sharedWorld.minY() != minY || sharedWorld.height() != heightY) {
+            sharedWorld = new SharedChunkStore.World(session.remoteServer().address(), session.remoteServer().port(),
+                worldName, minY, heightY);
+        }
         long chunkPosition = MathUtils.chunkPositionToLong(x, z);
-        GeyserChunk geyserChunk = GeyserChunk.from(chunks);
-        this.chunks.put(chunkPosition, geyserChunk);
+        putChunk(chunkPosition, SharedChunkStore.acquire(sharedWorld, chunkPosition, chunkData, sections, COMPACT));
+    }
+
+    private void putChunk(long chunkPosition, GeyserChunk chunk) {
+        GeyserChunk oldChunk = this.chunks.put(chunkPosition, chunk);
+        this.memoryUsage += chunk.memoryUsage();
+        if (oldChunk != null) {
+            release(oldChunk);
+        }
+    }
+
+    private void release(GeyserChunk chunk) {
+        this.memoryUsage -= chunk.memoryUsage();
+        if (chunk instanceof SharedGeyserChunk sharedChunk) {
+            sharedChunk.release();
+        }
     }
 
     /**
@@ -69,40 +153,51 @@ public class ChunkCache {
         return chunks.getOrDefault(chunkPosition, null);
     }
 
+    /**
+     * @return the index of the section in the chunk, or -1 if it is outside the world
+     */
+    private int sectionIndex(GeyserChunk chunk, int chunkY) {
+        int sectionIndex = chunkY - getChunkMinY();
+        if (sectionIndex < 0 || sectionIndex > chunk.sectionCount() - 1) {
+            return -1;
+        }
+        return sectionIndex;
+    }
+
     /**
      * Doesn't check for cache enabled, so don't use this without checking that first!
+     *
+     * @return if the chunk is loaded and the section is within the world height
      */
-    @Deprecated
-    public DataPalette getChunkSection(int chunkX, int chunkY, int chunkZ, boolean createIfAbsent) {
+    public boolean isSectionLoaded(int chunkX, int chunkY, int chunkZ) {
         GeyserChunk chunk = this.getChunk(chunkX, chunkZ);
-        if (chunk == null) {
-            return null;
-        }
+        return chunk != null && sectionIndex(chunk, chunkY) != -1;
+    }
 
-        if (chunkY < getChunkMinY() || chunkY - getChunkMinY() > chunk.sections().length - 1) {
-            return null;
+    public void updateBlock(int x, int y, int z, int block) {
+        if (ErosionBlockCache.PIPELINED) {
+            GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+            if (erosionHandler != null) {
+                erosionHandler.getBlockCache().invalidate(x, y, z);
+            }
         }
+        session.getSubChunkCache().onBlockUpdate(x, y, z, block);
 
-        DataPalette palette = chunk.sections()[chunkY - getChunkMinY()];
-        if (createIfAbsent && palette == null) {
-            palette = DataPalette.createForBlockState(Block.JAVA_AIR_ID, BlockRegistries.BLOCK_STATES.get().size());
-            chunk.sections()[chunkY - getChunkMinY()] = palette;
+        if (!cache) {
+            return;
         }
 
-        return palette;
-    }
-
-    public void updateBlock(int x, int y, int z, int block) {
-        if (!cache) {
+        GeyserChunk chunk = this.getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
             return;
         }
 
-        DataPalette palette = this.getChunkSection(x >> 4, y >> 4, z >> 4, true);
-        if (palette == null) {
+        int sectionIndex = sectionIndex(chunk, y >> 4);
+        if (sectionIndex == -1) {
             return;
         }
 
-        palette.set(x & 0xF, y & 0xF, z & 0xF, block);
+        this.memoryUsage += chunk.setBlockAt(sectionIndex, x & 0xF, y & 0xF, z & 0xF, block);
     }
 
     public int getBlockAt(int x, int y, int z) {
@@ -110,12 +205,17 @@ public class ChunkCache {
             return Block.JAVA_AIR_ID;
         }
 
-        DataPalette palette = this.getChunkSection(x >> 4, y >> 4, z >> 4, false);
-        if (palette == null) {
+        GeyserChunk chunk = this.getChunk(x >> 4, z >> 4);
+        if (chunk == null) {
+            return Block.JAVA_AIR_ID;
+        }
+
+        int sectionIndex = sectionIndex(chunk, y >> 4);
+        if (sectionIndex == -1) {
             return Block.JAVA_AIR_ID;
         }
 
-        return palette.get(x & 0xF, y & 0xF, z & 0xF);
+        return chunk.getBlockAt(sectionIndex, x & 0xF, y & 0xF, z & 0xF);
     }
 
     public void removeChunk(int chunkX, int chunkZ) {
@@ -124,7 +224,10 @@ public class ChunkCache {
         }
 
         long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
-        chunks.remove(chunkPosition);
+        GeyserChunk chunk = chunks.remove(chunkPosition);
+        if (chunk != null) {
+            release(chunk);
+        }
     }
 
     /**
@@ -133,11 +236,34 @@ public class ChunkCache {
      * but it is the client that must clear sections in the event of proxy switches.
      */
     public void clear() {
+        if (ErosionBlockCache.PIPELINED) {
+            GeyserboundPacketHandlerImpl erosionHandler = session.getErosionHandler().getAsActive();
+            if (erosionHandler != null) {
+                erosionHandler.getBlockCache().invalidateAll();
+            }
+        }
+
         if (!cache) {
             return;
         }
 
+        if (SHARED) {
+            for (GeyserChunk chunk : chunks.values()) {
+                if (chunk instanceof SharedGeyserChunk sharedChunk) {
+                    sharedChunk.release();
+                }
+            }
+            sharedWorld = null;
+        }
         chunks.clear();
+        this.memoryUsage = 0;
+    }
+
+    /**
+     * @return the amount of cached chunks
+     */
+    public int getChunkCount() {
+        return cache ? chunks.size() : 0;
     }
 
     public int getChunkMinY() {
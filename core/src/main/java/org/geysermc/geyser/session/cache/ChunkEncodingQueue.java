@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Moves the expensive part of chunk translation off of the session event loop.
+ * <p>
+ * Chunks are translated on a shared pool of worker threads, but are always sent to the client from the session's event
+ * loop and in the order they were received from the Java server. Block updates for a chunk that is still being
+ * translated are held back until that chunk has been sent, so they aren't overwritten by it on the client.
+ */
+public class ChunkEncodingQueue {
+    /**
+     * Whether chunks should be translated on the shared worker pool rather than on each session's event loop.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.AsyncChunkEncoding");
+    /**
+     * The amount of threads chunks are translated on, shared by all sessions.
+     */
+    private static final int THREADS = Integer.getInteger("Geyser.ChunkEncodingThreads",
+        MathUtils.constrain(Runtime.getRuntime().availableProcessors() / 2, 1, 8));
+
+    private static final ForkJoinPool EXECUTOR = ENABLED ? new ForkJoinPool(THREADS, pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("Geyser Chunk Encoding Thread - " + thread.getPoolIndex());
+        return thread;
+    }, null, true) : null;
+
+    private final GeyserSession session;
+    private final @Nullable Executor executor;
+    /**
+     * Chunks in the order they were received from the server.
+     */
+    private final ArrayDeque<PendingChunk<?>> pendingChunks;
+    /**
+     * The latest pending chunk for each chunk column.
+     */
+    private final Long2ObjectMap<PendingChunk<?>> latestChunks;
+
+    public ChunkEncodingQueue(GeyserSession session) {
+        this(session, EXECUTOR);
+    }
+
+    /**
+     * @param executor translates chunks, or null if chunks should be translated on the session event loop
+     */
+    ChunkEncodingQueue(GeyserSession session, @Nullable Executor executor) {
+        this.session = session;
+        this.executor = executor;
+        this.pendingChunks = executor != null ? new ArrayDeque<>() : null;
+        this.latestChunks = executor != null ? new Long2ObjectOpenHashMap<>() : null;
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Translates a chunk on the worker pool. Once it is done, and every chunk submitted before it has been sent,
+     * the result is handed to the consumer on the session event loop.
+     * <p>
+     * Must be called from the session event loop.
+     *
+     * @param translator the part of the translation that is safe to run off of the event loop
+     * @param sender sends the translated chunk to the client
+     */
+    public <T> void submit(int chunkX, int chunkZ, Supplier<T> translator, Consumer<T> sender) {
+        long chunkPosition = MathUtils.chunkPositionToLong(chunkX, chunkZ);
+        PendingChunk<T> chunk = new PendingChunk<>(chunkPosition, CompletableFuture.supplyAsync(translator, executor), sender);
+        pendingChunks.add(chunk);
+        latestChunks.put(chunkPosition, chunk);
+        chunk.future.whenComplete((result, throwable) -> session.executeInEventLoop(this::sendCompletedChunks));
+    }
+
+    /**
+     * Holds back an update to the client until the chunk column it is in has been sent.
+     * <p>
+     * Must be called from the session event loop.
+     *
+     * @return true if the chunk is still being translated and the update will run later
+     */
+    public boolean deferIfPending(int chunkX, int chunkZ, Runnable update) {
+        if (executor == null || latestChunks.isEmpty()) {
+            return false;
+        }
+        PendingChunk<?> chunk = latestChunks.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunk == null) {
+            return false;
+        }
+        chunk.deferredUpdates.add(update);
+        return true;
+    }
+
+    /**
+     * Sends a packet that changes a block or block entity, holding it back until the chunk column the block is in
+     * has been sent.
+     * <p>
+     * Must be called from the session event loop.
+     */
+    public void sendBlockUpdate(Vector3i position, BedrockPacket packet) {
+        if (!deferIfPending(position.getX() >> 4, position.getZ() >> 4, () -> session.sendUpstreamPacket(packet))) {
+            session.sendUpstreamPacket(packet);
+        }
+    }
+
+    /**
+     * Stops a pending chunk from being sent, as the server has told us to unload it.
+     */
+    public void cancel(int chunkX, int chunkZ) {
+        if (executor == null) {
+            return;
+        }
+        PendingChunk<?> chunk = latestChunks.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        if (chunk != null) {
+            // Any older chunks for this column are replaced by this one anyway
+            for (PendingChunk<?> pendingChunk : pendingChunks) {
+                if (pendingChunk.chunkPosition == chunk.chunkPosition) {
+                    pendingChunk.cancelled = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops all pending chunks from being sent, such as on a dimension change.
+     */
+    public void clear() {
+        if (executor == null) {
+            return;
+        }
+        for (PendingChunk<?> chunk : pendingChunks) {
+            chunk.cancelled = true;
+        }
+        latestChunks.clear();
+    }
+
+    private void sendCompletedChunks() {
+        PendingChunk<?> chunk;
+        while ((chunk = pendingChunks.peek()) != null && chunk.future.isDone()) {
+            pendingChunks.poll();
+            if (latestChunks.get(chunk.chunkPosition) == chunk) {
+                latestChunks.remove(chunk.chunkPosition);
+            }
+
+            if (chunk.cancelled || session.isClosed()) {
+                continue;
+            }
+
+            try {
+                chunk.send();
+                for (Runnable update : chunk.deferredUpdates) {
+                    update.run();
+                }
+            } catch (Throwable e) {
+                session.getGeyser().getLogger().error("Error while sending chunk to " + session.bedrockUsername(), e);
+            }
+        }
+    }
+
+    private static final class PendingChunk<T> {
+        private final long chunkPosition;
+        private final CompletableFuture<T> future;
+        private final Consumer<T> sender;
+        private final List<Runnable> deferredUpdates = new ObjectArrayList<>(0);
+        private boolean cancelled;
+
+        private PendingChunk(long chunkPosition, CompletableFuture<T> future, Consumer<T> sender) {
+            this.chunkPosition = chunkPosition;
+            this.future = future;
+            this.sender = sender;
+        }
+
+        private void send() {
+            sender.accept(future.join());
+        }
+    }
+}
@@ -35,6 +35,7 @@ import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import lombok.Getter;
+import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.entity.EntitySpectateHelper;
 import org.geysermc.geyser.entity.type.Entity;
 import org.geysermc.geyser.entity.type.Tickable;
@@ -43,6 +44,7 @@ import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.cache.waypoint.GeyserWaypoint;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -58,6 +60,17 @@ import java.util.function.Consumer;
  * for that player (e.g. seeing vanished players from /vanish)
  */
 public class EntityCache {
+    /**
+     * Whether movement of other entities should be merged and sent once per tick, rather than as soon as it is received.
+     */
+    private static final boolean COALESCE_MOVEMENT = Boolean.getBoolean("Geyser.CoalesceEntityMovement");
+    /**
+     * Comma-separated distances in blocks from the player, nearest first. Past each distance, movement and metadata
+     * updates of an entity are sent half as often - so "32,64" sends every 2nd tick past 32 blocks, and every 4th
+     * tick past 64 blocks. Entities always catch up to their latest state when they are sent.
+     */
+    private static final double[] UPDATE_DISTANCES_SQUARED = parseUpdateDistances(System.getProperty("Geyser.EntityUpdateDistances", ""));
+
     private final GeyserSession session;
 
     /**
@@ -84,6 +97,11 @@ public class EntityCache {
     private final Map<UUID, BossBar> bossBars = new Object2ObjectOpenHashMap<>();
     @Getter
     private final Set<Entity> dirtyEntities = new ObjectOpenHashSet<>();
+    /**
+     * Entities with movement that has yet to be sent this tick.
+     */
+    @Getter
+    private final Set<Entity> movedEntities = new ObjectOpenHashSet<>();
 
     @Getter
     private final AtomicLong nextEntityId = new AtomicLong(2L);
@@ -185,12 +203,88 @@ public class EntityCache {
         }
 
         dirtyEntities.remove(entity);
+        movedEntities.remove(entity);
     }
 
     public void markDirty(Entity entity) {
         dirtyEntities.add(entity);
     }
 
+    public void markMoved(Entity entity) {
+        movedEntities.add(entity);
+    }
+
+    /**
+     * Movement of the player and the vehicle they are riding is always sent right away, as it corrects the client.
+     *
+     * @return if movement of this entity should be held back until the end of the tick
+     */
+    public boolean shouldCoalesceMovement(Entity entity) {
+        if (entity == session.getPlayerEntity() || entity == session.getPlayerEntity().getVehicle()) {
+            return false;
+        }
+        return COALESCE_MOVEMENT || updateInterval(entity) > 1;
+    }
+
+    /**
+     * @return if metadata changes of this entity should be held back until it is next updated in a tick
+     */
+    public boolean shouldThrottleMetadata(Entity entity) {
+        return entity != session.getPlayerEntity() && updateInterval(entity) > 1;
+    }
+
+    /**
+     * @return if queued movement and metadata of this entity should be sent this tick
+     */
+    public boolean shouldUpdateThisTick(Entity entity) {
+        int interval = updateInterval(entity);
+        // Spread entities with the same interval over different ticks
+        return interval == 1 || ((session.getTicks() + entity.getGeyserId()) & (interval - 1)) == 0;
+    }
+
+    /**
+     * @return every how many ticks this entity should be updated, based on its distance from the player
+     */
+    private int updateInterval(Entity entity) {
+        if (UPDATE_DISTANCES_SQUARED.length == 0) {
+            return 1;
+        }
+        // Ridden entities and riders are kept real-time, as they are often moving quickly and are watched closely
+        if (entity.getVehicle() != null || !entity.getPassengers().isEmpty()) {
+            return 1;
+        }
+
+        double distanceSquared = entity.position().distanceSquared(session.getPlayerEntity().position());
+        int interval = 1;
+        for (double updateDistanceSquared : UPDATE_DISTANCES_SQUARED) {
+            if (distanceSquared <= updateDistanceSquared) {
+                break;
+            }
+            interval <<= 1;
+        }
+        return interval;
+    }
+
+    private static double[] parseUpdateDistances(String property) {
+        if (property.isBlank()) {
+            return new double[0];
+        }
+        String[] parts = property.split(",");
+        double[] distances = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            double distance;
+            try {
+                distance = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException e) {
+                GeyserImpl.getInstance().getLogger().error("Invalid Geyser.EntityUpdateDistances \"" + property + "\"; all entities will be updated every tick", e);
+                return new double[0];
+            }
+            distances[i] = distance * distance;
+        }
+        Arrays.sort(distances);
+        return distances;
+    }
+
     public void removeAllEntities() {
         session.getWorldBorder().clearCollision();
 
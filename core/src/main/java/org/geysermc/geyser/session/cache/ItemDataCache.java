@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.protocol.bedrock.data.inventory.ItemData;
+import org.geysermc.geyser.item.type.Item;
+import org.geysermc.geyser.level.JavaDimension;
+import org.geysermc.geyser.registry.type.ItemMapping;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.skin.SkinManager;
+import org.geysermc.mcprotocollib.protocol.data.game.entity.player.ResolvableProfile;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponentTypes;
+import org.geysermc.mcprotocollib.protocol.data.game.item.component.DataComponents;
+
+import java.util.Objects;
+
+/**
+ * Translated Bedrock items, so that inventories full of the same item (such as shop menus) don't render the same
+ * names and lore over and over again.
+ * <p>
+ * Translations depend on the registries and tags of the session, so this must be invalidated whenever those change.
+ */
+public class ItemDataCache {
+    /**
+     * The maximum amount of translated items to remember per session. Set to 0 to disable.
+     */
+    private static final int MAX_SIZE = Integer.getInteger("Geyser.ItemDataCacheSize", 256);
+
+    private final @Nullable Cache<Key, ItemData> items = MAX_SIZE > 0 ? CacheBuilder.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .recordStats()
+        .build() : null;
+
+    /**
+     * @return the key to cache this item under, or null if its translation depends on other session state
+     */
+    public @Nullable Key key(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents components) {
+        if (items == null) {
+            return null;
+        }
+        if (components != null) {
+            // Attribute lore uses the attributes of the player, and lodestone compasses are tracked in the lodestone cache
+            if (components.contains(DataComponentTypes.ATTRIBUTE_MODIFIERS) || components.contains(DataComponentTypes.LODESTONE_TRACKER)) {
+                return null;
+            }
+            // Player heads get their custom skull once the profile has been resolved
+            ResolvableProfile profile = components.get(DataComponentTypes.PROFILE);
+            if (profile != null && SkinManager.resolveProfile(profile).getNow(null) == null) {
+                return null;
+            }
+        }
+        // Custom item predicates may depend on whether a fishing rod is cast and on the dimension
+        return new Key(javaItem, bedrockItem, count, components, session.locale(), session.isAdvancedTooltips(),
+            session.hasFishingRodCast(), session.getDimensionType());
+    }
+
+    public @Nullable ItemData get(Key key) {
+        return items == null ? null : items.getIfPresent(key);
+    }
+
+    public void put(Key key, ItemData item) {
+        if (items != null) {
+            items.put(key.copy(), item);
+        }
+    }
+
+    public void invalidate() {
+        if (items != null) {
+            items.invalidateAll();
+        }
+    }
+
+    public long size() {
+        return items == null ? 0 : items.size();
+    }
+
+    public @Nullable CacheStats stats() {
+        return items == null ? null : items.stats();
+    }
+
+    /**
+     * Mappings and dimensions are compared by identity, since there is only one of each per session.
+     */
+    public record Key(Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents components, String locale, boolean advancedTooltips,
+                      boolean fishingRodCast, @Nullable JavaDimension dimension) {
+
+        /**
+         * @return this key, with components that won't change if the item they were taken from does
+         */
+        private Key copy() {
+            return components == null ? this : new Key(javaItem, bedrockItem, count, components.clone(), locale, advancedTooltips, fishingRodCast, dimension);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            return o instanceof Key other && javaItem == other.javaItem && bedrockItem == other.bedrockItem && count == other.count
+                && advancedTooltips == other.advancedTooltips && fishingRodCast == other.fishingRodCast && dimension == other.dimension
+                && locale.equals(other.locale) && Objects.equals(components, other.components);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = javaItem.hashCode();
+            result = 31 * result + System.identityHashCode(bedrockItem);
+            result = 31 * result + count;
+            result = 31 * result + Objects.hashCode(components);
+            result = 31 * result + locale.hashCode();
+            result = 31 * result + Boolean.hashCode(advancedTooltips);
+            result = 31 * result + Boolean.hashCode(fishingRodCast);
+            return 31 * result + System.identityHashCode(dimension);
+        }
+    }
+}
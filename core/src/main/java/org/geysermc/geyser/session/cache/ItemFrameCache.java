@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.util.MathUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Item frames by their Bedrock block position, since Bedrock treats them as blocks. Also grouped by chunk, so that the
+ * item frames of a chunk can be refreshed when it is sent without looking at every other item frame.
+ */
+public class ItemFrameCache {
+    private final Map<Vector3i, ItemFrameEntity> itemFrames = new Object2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<List<ItemFrameEntity>> itemFramesByChunk = new Long2ObjectOpenHashMap<>();
+
+    public @Nullable ItemFrameEntity get(Vector3i position) {
+        return itemFrames.get(position);
+    }
+
+    public void put(Vector3i position, ItemFrameEntity itemFrame) {
+        ItemFrameEntity previous = itemFrames.put(position, itemFrame);
+        long chunkPosition = chunkPosition(position);
+        if (previous != null) {
+            removeFromChunk(chunkPosition, previous);
+        }
+        itemFramesByChunk.computeIfAbsent(chunkPosition, $ -> new ObjectArrayList<>(4)).add(itemFrame);
+    }
+
+    /**
+     * Removes the item frame at this position, if it is still the given item frame.
+     */
+    public void remove(Vector3i position, ItemFrameEntity itemFrame) {
+        if (itemFrames.remove(position, itemFrame)) {
+            removeFromChunk(chunkPosition(position), itemFrame);
+        }
+    }
+
+    /**
+     * @return the item frames in this chunk. Must not be modified, and must be copied if item frames may be added or
+     * removed while going over it.
+     */
+    public List<ItemFrameEntity> getInChunk(int chunkX, int chunkZ) {
+        List<ItemFrameEntity> chunkItemFrames = itemFramesByChunk.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        return chunkItemFrames == null ? Collections.emptyList() : chunkItemFrames;
+    }
+
+    public int size() {
+        return itemFrames.size();
+    }
+
+    public void clear() {
+        itemFrames.clear();
+        itemFramesByChunk.clear();
+    }
+
+    private void removeFromChunk(long chunkPosition, ItemFrameEntity itemFrame) {
+        List<ItemFrameEntity> chunkItemFrames = itemFramesByChunk.get(chunkPosition);
+        if (chunkItemFrames == null) {
+            return;
+        }
+
+        for (int i = 0; i < chunkItemFrames.size(); i++) {
+            if (chunkItemFrames.get(i) == itemFrame) {
+                chunkItemFrames.remove(i);
+                break;
+            }
+        }
+        if (chunkItemFrames.isEmpty()) {
+            itemFramesByChunk.remove(chunkPosition);
+        }
+    }
+
+    private static long chunkPosition(Vector3i position) {
+        return MathUtils.chunkPositionToLong(position.getX() >> 4, position.getZ() >> 4);
+    }
+}
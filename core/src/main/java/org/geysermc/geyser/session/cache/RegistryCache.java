@@ -43,6 +43,7 @@ import org.geysermc.geyser.inventory.item.BannerPattern;
 import org.geysermc.geyser.inventory.item.GeyserInstrument;
 import org.geysermc.geyser.inventory.recipe.TrimRecipes;
 import org.geysermc.geyser.item.enchantment.Enchantment;
+import org.geysermc.geyser.item.hashing.ComponentHashCache;
 import org.geysermc.geyser.level.JavaDimension;
 import org.geysermc.geyser.level.JukeboxSong;
 import org.geysermc.geyser.level.PaintingType;
@@ -54,6 +55,7 @@ import org.geysermc.geyser.session.cache.registry.JavaRegistryProvider;
 import org.geysermc.geyser.session.cache.registry.RegistryEntryContext;
 import org.geysermc.geyser.session.cache.registry.RegistryEntryData;
 import org.geysermc.geyser.session.cache.registry.RegistryUnit;
+import org.geysermc.geyser.session.cache.registry.SharedRegistryStore;
 import org.geysermc.geyser.session.cache.registry.SimpleJavaRegistry;
 import org.geysermc.geyser.session.dialog.Dialog;
 import org.geysermc.geyser.text.ChatDecoration;
@@ -66,9 +68,11 @@ import org.jetbrains.annotations.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Stores any information sent via Java registries. May not contain all data in a given registry - we'll strip what's
@@ -77,38 +81,47 @@ import java.util.Optional;
  * <p>Crafted as of 1.20.5 for easy "add new registry" functionality in the future.</p>
  */
 public final class RegistryCache implements JavaRegistryProvider {
+    /**
+     * Whether sessions that receive identical registry data should share the parsed registry.
+     */
+    private static final boolean SHARED = Boolean.getBoolean("Geyser.SharedRegistries");
+
     private static final Map<JavaRegistryKey<?>, Map<Key, NbtMap>> DEFAULTS;
     @VisibleForTesting
     public static final Map<JavaRegistryKey<?>, RegistryReader<?>> READERS = new HashMap<>();
+    /**
+     * Registries whose readers don't depend on the session (e.g. its locale), and can therefore be shared.
+     */
+    private static final Set<JavaRegistryKey<?>> SHAREABLE = new HashSet<>();
 
     static {
-        register(JavaRegistries.CHAT_TYPE, ChatDecoration::readChatType);
-        register(JavaRegistries.DIMENSION_TYPE, JavaDimension::read);
-        register(JavaRegistries.BIOME, BiomeTranslator::loadServerBiome);
+        registerShared(JavaRegistries.CHAT_TYPE, ChatDecoration::readChatType);
+        registerShared(JavaRegistries.DIMENSION_TYPE, JavaDimension::read);
+        registerShared(JavaRegistries.BIOME, BiomeTranslator::loadServerBiome);
         register(JavaRegistries.ENCHANTMENT, Enchantment::read);
-        register(JavaRegistries.BANNER_PATTERN, context -> BannerPattern.getByJavaIdentifier(context.id()));
+        registerShared(JavaRegistries.BANNER_PATTERN, context -> BannerPattern.getByJavaIdentifier(context.id()));
         register(JavaRegistries.INSTRUMENT, GeyserInstrument::read);
         register(JavaRegistries.JUKEBOX_SONG, JukeboxSong::read);
-        register(JavaRegistries.PAINTING_VARIANT, context -> PaintingType.getByName(context.id()));
-        register(JavaRegistries.TRIM_MATERIAL, TrimRecipes::readTrimMaterial);
-        register(JavaRegistries.TRIM_PATTERN, TrimRecipes::readTrimPattern);
-        register(JavaRegistries.DAMAGE_TYPE, RegistryReader.UNIT);
+        registerShared(JavaRegistries.PAINTING_VARIANT, context -> PaintingType.getByName(context.id()));
+        registerShared(JavaRegistries.TRIM_MATERIAL, TrimRecipes::readTrimMaterial);
+        registerShared(JavaRegistries.TRIM_PATTERN, TrimRecipes::readTrimPattern);
+        registerShared(JavaRegistries.DAMAGE_TYPE, RegistryReader.UNIT);
         register(JavaRegistries.DIALOG, Dialog::readDialog);
-        register(JavaRegistries.WORLD_CLOCK, RegistryReader.UNIT);
-
-        register(JavaRegistries.CAT_VARIANT, VariantHolder.reader(CatEntity.BuiltInVariant.class, CatEntity.BuiltInVariant.BLACK));
-        register(JavaRegistries.CAT_SOUND_VARIANT, RegistryReader.UNIT);
-        register(JavaRegistries.FROG_VARIANT, VariantHolder.reader(FrogEntity.BuiltInVariant.class, FrogEntity.BuiltInVariant.TEMPERATE));
-        register(JavaRegistries.WOLF_VARIANT, VariantHolder.reader(WolfEntity.BuiltInVariant.class, WolfEntity.BuiltInVariant.PALE));
-        register(JavaRegistries.WOLF_SOUND_VARIANT, RegistryReader.UNIT);
-
-        register(JavaRegistries.PIG_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
-        register(JavaRegistries.PIG_SOUND_VARIANT, RegistryReader.UNIT);
-        register(JavaRegistries.COW_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
-        register(JavaRegistries.COW_SOUND_VARIANT, RegistryReader.UNIT);
-        register(JavaRegistries.CHICKEN_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
-        register(JavaRegistries.CHICKEN_SOUND_VARIANT, RegistryReader.UNIT);
-        register(JavaRegistries.ZOMBIE_NAUTILUS_VARIANT, ZombieNautilusEntity.VARIANT_READER);
+        registerShared(JavaRegistries.WORLD_CLOCK, RegistryReader.UNIT);
+
+        registerShared(JavaRegistries.CAT_VARIANT, VariantHolder.reader(CatEntity.BuiltInVariant.class, CatEntity.BuiltInVariant.BLACK));
+        registerShared(JavaRegistries.CAT_SOUND_VARIANT, RegistryReader.UNIT);
+        registerShared(JavaRegistries.FROG_VARIANT, VariantHolder.reader(FrogEntity.BuiltInVariant.class, FrogEntity.BuiltInVariant.TEMPERATE));
+        registerShared(JavaRegistries.WOLF_VARIANT, VariantHolder.reader(WolfEntity.BuiltInVariant.class, WolfEntity.BuiltInVariant.PALE));
+        registerShared(JavaRegistries.WOLF_SOUND_VARIANT, RegistryReader.UNIT);
+
+        registerShared(JavaRegistries.PIG_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
+        registerShared(JavaRegistries.PIG_SOUND_VARIANT, RegistryReader.UNIT);
+        registerShared(JavaRegistries.COW_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
+        registerShared(JavaRegistries.COW_SOUND_VARIANT, RegistryReader.UNIT);
+        registerShared(JavaRegistries.CHICKEN_VARIANT, TemperatureVariantAnimal.VARIANT_READER);
+        registerShared(JavaRegistries.CHICKEN_SOUND_VARIANT, RegistryReader.UNIT);
+        registerShared(JavaRegistries.ZOMBIE_NAUTILUS_VARIANT, ZombieNautilusEntity.VARIANT_READER);
 
         // Load from MCProtocolLib's classloader
         NbtMap tag = MinecraftProtocol.loadNetworkCodec();
@@ -130,6 +143,18 @@ public final class RegistryCache implements JavaRegistryProvider {
 
     private final GeyserSession session;
     private final Reference2ObjectMap<JavaRegistryKey<?>, SimpleJavaRegistry<?>> registries;
+    /**
+     * The shared registries this session currently uses, to let go of when they are replaced.
+     */
+    private final Reference2ObjectMap<JavaRegistryKey<?>, SharedRegistryStore.Entry> sharedRegistries = new Reference2ObjectOpenHashMap<>();
+    /**
+     * The Bedrock biome ID of each Java biome, indexed by network ID. Lets chunk biomes be translated without boxing.
+     */
+    private int[] bedrockBiomes = new int[0];
+    /**
+     * Hashes of item components, which depend on the registries they were made with.
+     */
+    private final ComponentHashCache componentHashes = new ComponentHashCache(this);
 
     public RegistryCache(GeyserSession session) {
         this.session = session;
@@ -149,7 +174,22 @@ public final class RegistryCache implements JavaRegistryProvider {
             RegistryReader reader = READERS.get(registryKey);
             if (reader != null) {
                 try {
-                    readRegistry(session, registryKey, registries.get(registryKey), reader, packet.getEntries());
+                    if (SHARED && SHAREABLE.contains(registryKey)) {
+                        loadShared(registryKey, reader, packet.getEntries());
+                    } else {
+                        readRegistry(session, registryKey, registries.get(registryKey), reader, packet.getEntries());
+                    }
+
+                    componentHashes.invalidate();
+
+                    if (registryKey == JavaRegistries.BIOME) {
+                        List<Integer> biomes = registry(JavaRegistries.BIOME).values();
+                        int[] bedrockBiomes = new int[biomes.size()];
+                        for (int i = 0; i < bedrockBiomes.length; i++) {
+                            bedrockBiomes[i] = biomes.get(i);
+                        }
+                        this.bedrockBiomes = bedrockBiomes;
+                    }
                 } catch (Exception exception) {
                     GeyserImpl.getInstance().getLogger().error("Failed parsing registry entries for " + registryKey + "!", exception);
                 }
@@ -161,6 +201,44 @@ public final class RegistryCache implements JavaRegistryProvider {
         }
     }
 
+    private <T> void loadShared(JavaRegistryKey<T> registryKey, RegistryReader<T> reader, List<RegistryEntry> entries) {
+        SharedRegistryStore.Entry entry = SharedRegistryStore.acquire(registryKey, entries, () -> {
+            SimpleJavaRegistry<T> registry = new SimpleJavaRegistry<>();
+            readRegistry(session, registryKey, registry, reader, entries);
+            return registry;
+        });
+        // Shared registries are never reset; swap to the new one instead
+        registries.put(registryKey, entry.registry());
+        SharedRegistryStore.Entry previous = sharedRegistries.put(registryKey, entry);
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    /**
+     * Lets go of any registries shared with other sessions. Called when the session disconnects.
+     */
+    public void release() {
+        for (SharedRegistryStore.Entry entry : sharedRegistries.values()) {
+            entry.release();
+        }
+        sharedRegistries.clear();
+    }
+
+    /**
+     * @return the Bedrock biome ID of each Java biome, indexed by network ID. Must not be modified.
+     */
+    public int[] bedrockBiomes() {
+        return bedrockBiomes;
+    }
+
+    /**
+     * @return the hashes of item components made with these registries
+     */
+    public ComponentHashCache componentHashes() {
+        return componentHashes;
+    }
+
     @Override
     public <T> JavaRegistry<T> registry(JavaRegistryKey<T> registryKey) {
         if (!registries.containsKey(registryKey)) {
@@ -217,6 +295,14 @@ public final class RegistryCache implements JavaRegistryProvider {
         READERS.put(registryKey, reader);
     }
 
+    /**
+     * Registers a reader that doesn't use the session, so its registry can be shared between sessions.
+     */
+    private static <T> void registerShared(JavaRegistryKey<T> registryKey, RegistryReader<T> reader) {
+        register(registryKey, reader);
+        SHAREABLE.add(registryKey);
+    }
+
     public static void init() {
         // no-op
     }
@@ -25,7 +25,10 @@
 
 package org.geysermc.geyser.session.cache;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -43,6 +46,7 @@ import org.geysermc.geyser.level.block.type.WallSkullBlock;
 import org.geysermc.geyser.registry.BlockRegistries;
 import org.geysermc.geyser.registry.type.CustomSkull;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
 import org.geysermc.mcprotocollib.auth.GameProfile;
 import org.geysermc.mcprotocollib.auth.texture.Texture;
 import org.geysermc.mcprotocollib.auth.texture.TextureType;
@@ -52,21 +56,51 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
 
 public class SkullCache {
+    private static final Comparator<Skull> CLOSEST_FIRST = Comparator.comparingInt(Skull::getDistanceSquared);
+
     private final int maxVisibleSkulls;
     private final boolean cullingEnabled;
 
+    private final int skullRenderDistance;
     private final int skullRenderDistanceSquared;
 
     @Getter
     private final Map<Vector3i, Skull> skulls = new Object2ObjectOpenHashMap<>();
-
-    private final List<Skull> inRangeSkulls = new ArrayList<>();
+    /**
+     * The same skulls as {@link #skulls}, grouped by chunk so that only chunks near the player have to be looked at.
+     */
+    private final Long2ObjectMap<List<Skull>> skullsByChunk = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * The skulls in range that have an entity, closest first. Never holds more than {@link #maxVisibleSkulls}.
+     */
+    private final List<Skull> visibleSkulls = new ArrayList<>();
+    /**
+     * The skulls in range that are farther away than every visible skull, and so have no entity.
+     */
+    private final Set<Skull> hiddenSkulls = new ReferenceOpenHashSet<>();
 
     private int totalSkullEntities = 0;
 
+    private int assignedThisTick;
+    private int freedThisTick;
+    /**
+     * The amount of skull entities that were spawned in the last tick.
+     */
+    @Getter
+    private int assignedLastTick;
+    /**
+     * The amount of skull entities that were despawned in the last tick.
+     */
+    @Getter
+    private int freedLastTick;
+
     private final GeyserSession session;
 
     private Vector3f lastPlayerPosition;
@@ -77,8 +111,8 @@ public class SkullCache {
         this.cullingEnabled = this.maxVisibleSkulls != -1;
 
         // Normal skulls are not rendered beyond 64 blocks
-        int distance = Math.min(session.getGeyser().config().gameplay().customSkullRenderDistance(), 64);
-        this.skullRenderDistanceSquared = distance * distance;
+        this.skullRenderDistance = Math.min(session.getGeyser().config().gameplay().customSkullRenderDistance(), 64);
+        this.skullRenderDistanceSquared = skullRenderDistance * skullRenderDistance;
     }
 
     public @Nullable Skull putSkull(Vector3i position, GameProfile resolved, BlockState blockState) {
@@ -96,7 +130,12 @@ public class SkullCache {
     }
 
     public Skull putSkull(Vector3i position, UUID uuid, String skinUrl, String skinHash, BlockState blockState) {
-        Skull skull = skulls.computeIfAbsent(position, Skull::new);
+        Skull skull = skulls.get(position);
+        if (skull == null) {
+            skull = new Skull(position);
+            skulls.put(position, skull);
+            skullsByChunk.computeIfAbsent(chunkKey(position.getX() >> 4, position.getZ() >> 4), $ -> new ArrayList<>()).add(skull);
+        }
         skull.uuid = uuid;
         skull.skinUrl = skinUrl;
         skull.skinHash = skinHash;
@@ -118,21 +157,26 @@ public class SkullCache {
             if (lastPlayerPosition == null) {
                 return skull;
             }
+            hiddenSkulls.remove(skull);
             skull.distanceSquared = position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
             if (skull.distanceSquared < skullRenderDistanceSquared) {
                 // Keep list in order
-                int i = Collections.binarySearch(inRangeSkulls, skull, Comparator.comparingInt(Skull::getDistanceSquared));
+                int i = Collections.binarySearch(visibleSkulls, skull, CLOSEST_FIRST);
                 if (i < 0) { // skull.distanceSquared is a new distance value
                     i = -i - 1;
                 }
-                inRangeSkulls.add(i, skull);
 
                 if (i < maxVisibleSkulls) {
+                    visibleSkulls.add(i, skull);
                     // Reassign entity from the farthest skull to this one
-                    if (inRangeSkulls.size() > maxVisibleSkulls) {
-                        freeSkullEntity(inRangeSkulls.get(maxVisibleSkulls));
+                    if (visibleSkulls.size() > maxVisibleSkulls) {
+                        Skull farthest = visibleSkulls.remove(visibleSkulls.size() - 1);
+                        freeSkullEntity(farthest);
+                        hiddenSkulls.add(farthest);
                     }
                     assignSkullEntity(skull);
+                } else {
+                    hiddenSkulls.add(skull);
                 }
             }
         }
@@ -142,10 +186,35 @@ public class SkullCache {
     public void removeSkull(Vector3i position) {
         Skull skull = skulls.remove(position);
         if (skull != null) {
+            long chunkKey = chunkKey(position.getX() >> 4, position.getZ() >> 4);
+            List<Skull> chunkSkulls = skullsByChunk.get(chunkKey);
+            if (chunkSkulls != null) {
+                removeIdentical(chunkSkulls, skull);
+                if (chunkSkulls.isEmpty()) {
+                    skullsByChunk.remove(chunkKey);
+                }
+            }
             reassignSkullEntity(skull);
         }
     }
 
+    /**
+     * Removes all skulls in a chunk that is no longer loaded.
+     */
+    public void removeChunk(int chunkX, int chunkZ) {
+        List<Skull> chunkSkulls = skullsByChunk.remove(chunkKey(chunkX, chunkZ));
+        if (chunkSkulls != null) {
+            // Remove them all first, so no entity is handed to a skull that is about to be removed as well
+            for (Skull skull : chunkSkulls) {
+                skulls.remove(skull.position);
+                hiddenSkulls.remove(skull);
+            }
+            for (Skull skull : chunkSkulls) {
+                reassignSkullEntity(skull);
+            }
+        }
+    }
+
     public Skull updateSkull(Vector3i position, BlockState blockState) {
         Skull skull = skulls.get(position);
         if (skull != null) {
@@ -162,31 +231,75 @@ public class SkullCache {
             }
             lastPlayerPosition = session.getPlayerEntity().position();
 
-            inRangeSkulls.clear();
-            for (Skull skull : skulls.values()) {
-                if (skull.blockDefinition != null) {
-                    continue;
+            // Only keep the closest skulls, rather than sorting every skull in range
+            Queue<Skull> closestSkulls = new PriorityQueue<>(Math.max(1, maxVisibleSkulls), CLOSEST_FIRST.reversed());
+            hiddenSkulls.clear();
+
+            int playerX = lastPlayerPosition.getFloorX();
+            int playerZ = lastPlayerPosition.getFloorZ();
+            for (int chunkX = (playerX - skullRenderDistance) >> 4; chunkX <= (playerX + skullRenderDistance) >> 4; chunkX++) {
+                for (int chunkZ = (playerZ - skullRenderDistance) >> 4; chunkZ <= (playerZ + skullRenderDistance) >> 4; chunkZ++) {
+                    List<Skull> chunkSkulls = skullsByChunk.get(chunkKey(chunkX, chunkZ));
+                    if (chunkSkulls == null) {
+                        continue;
+                    }
+
+                    for (Skull skull : chunkSkulls) {
+                        if (skull.blockDefinition != null) {
+                            continue;
+                        }
+
+                        skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
+                        if (skull.distanceSquared > skullRenderDistanceSquared) {
+                            continue;
+                        }
+
+                        if (closestSkulls.size() < maxVisibleSkulls) {
+                            closestSkulls.add(skull);
+                        } else if (maxVisibleSkulls > 0 && skull.distanceSquared < closestSkulls.element().distanceSquared) {
+                            hiddenSkulls.add(closestSkulls.remove());
+                            closestSkulls.add(skull);
+                        } else {
+                            hiddenSkulls.add(skull);
+                        }
+                    }
                 }
+            }
 
-                skull.distanceSquared = skull.position.distanceSquared(lastPlayerPosition.getX(), lastPlayerPosition.getY(), lastPlayerPosition.getZ());
-                if (skull.distanceSquared > skullRenderDistanceSquared) {
+            // Free entities first, so that they can be given to the skulls that are now closer
+            Set<Skull> stillVisible = new ReferenceOpenHashSet<>(closestSkulls);
+            for (Skull skull : visibleSkulls) {
+                if (!stillVisible.contains(skull)) {
                     freeSkullEntity(skull);
-                } else {
-                    inRangeSkulls.add(skull);
                 }
             }
-            inRangeSkulls.sort(Comparator.comparingInt(Skull::getDistanceSquared));
 
-            for (int i = inRangeSkulls.size() - 1; i >= 0; i--) {
-                if (i < maxVisibleSkulls) {
-                    assignSkullEntity(inRangeSkulls.get(i));
-                } else {
-                    freeSkullEntity(inRangeSkulls.get(i));
-                }
+            visibleSkulls.clear();
+            visibleSkulls.addAll(closestSkulls);
+            visibleSkulls.sort(CLOSEST_FIRST);
+            for (Skull skull : visibleSkulls) {
+                assignSkullEntity(skull);
             }
         }
     }
 
+    /**
+     * Called every tick to keep track of how many skull entities were spawned and despawned.
+     */
+    public void tick() {
+        assignedLastTick = assignedThisTick;
+        freedLastTick = freedThisTick;
+        assignedThisTick = 0;
+        freedThisTick = 0;
+    }
+
+    /**
+     * @return the amount of skull entities currently spawned
+     */
+    public int getSkullEntityCount() {
+        return totalSkullEntities;
+    }
+
     private void assignSkullEntity(Skull skull) {
         if (skull.entity != null) {
             return;
@@ -197,6 +310,7 @@ public class SkullCache {
             skull.entity.spawnEntity();
             skull.entity.updateSkull(skull);
             totalSkullEntities++;
+            assignedThisTick++;
         }
     }
 
@@ -204,6 +318,7 @@ public class SkullCache {
         if (skull.entity != null) {
             skull.entity.despawnEntity();
             totalSkullEntities--;
+            freedThisTick++;
             skull.entity = null;
         }
     }
@@ -213,10 +328,13 @@ public class SkullCache {
         freeSkullEntity(skull);
 
         if (cullingEnabled) {
-            inRangeSkulls.remove(skull);
-            if (hadEntity && inRangeSkulls.size() >= maxVisibleSkulls) {
+            hiddenSkulls.remove(skull);
+            if (removeIdentical(visibleSkulls, skull) && hadEntity && !hiddenSkulls.isEmpty()) {
                 // Reassign entity to the closest skull without an entity
-                assignSkullEntity(inRangeSkulls.get(maxVisibleSkulls - 1));
+                Skull closest = Collections.min(hiddenSkulls, CLOSEST_FIRST);
+                hiddenSkulls.remove(closest);
+                visibleSkulls.add(closest);
+                assignSkullEntity(closest);
             }
         }
     }
@@ -228,11 +346,33 @@ public class SkullCache {
             }
         }
         skulls.clear();
-        inRangeSkulls.clear();
+        skullsByChunk.clear();
+        visibleSkulls.clear();
+        hiddenSkulls.clear();
+        freedThisTick += totalSkullEntities;
         totalSkullEntities = 0;
         lastPlayerPosition = null;
     }
 
+    /**
+     * Removes a skull by identity, as skulls at different positions may otherwise be equal.
+     *
+     * @return if the skull was in the list
+     */
+    private static boolean removeIdentical(List<Skull> list, Skull skull) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == skull) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return MathUtils.chunkPositionToLong(chunkX, chunkZ);
+    }
+
     private @Nullable BlockDefinition translateCustomSkull(@Nullable String skinHash, BlockState blockState) {
         if (skinHash == null) {
             return null;
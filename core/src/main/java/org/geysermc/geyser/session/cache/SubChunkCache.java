@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.protocol.bedrock.data.HeightMapDataType;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkData;
+import org.cloudburstmc.protocol.bedrock.data.SubChunkRequestResult;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.SubChunkRequestPacket;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.geysermc.geyser.level.BedrockDimension;
+import org.geysermc.geyser.level.block.Blocks;
+import org.geysermc.geyser.level.block.type.BlockState;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.MathUtils;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+
+import java.util.Arrays;
+
+/**
+ * Holds the sections of chunks that were sent with {@link org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket#setRequestSubChunks(boolean)}.
+ * <p>
+ * Rather than sending every section of a column up front, only the biomes and the amount of sections are sent. The
+ * client then requests the sections that it needs with a {@link SubChunkRequestPacket}, which are answered from here.
+ * Since the client may not have a section yet when a block in it changes, block updates are applied to the held
+ * sections, so a section is always handed out as it currently is.
+ */
+public class SubChunkCache {
+    /**
+     * Whether chunks should be sent as sub chunks that the client requests.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("Geyser.SubChunkRequests");
+    /**
+     * Marks a block column without any blocks in {@link Column#heights()}.
+     */
+    private static final short NO_HEIGHT = Short.MIN_VALUE;
+
+    private final GeyserSession session;
+    private final Long2ObjectMap<Column> columns;
+
+    public SubChunkCache(GeyserSession session) {
+        this.session = session;
+        this.columns = ENABLED ? new Long2ObjectOpenHashMap<>() : null;
+    }
+
+    /**
+     * @return if chunks for this session should be sent as sub chunks
+     */
+    public boolean isActive() {
+        return ENABLED;
+    }
+
+    /**
+     * Stores a column whose sections will be requested by the client. Replaces any column already at that position.
+     *
+     * @param sections the sections, indexed from the bottom of the Bedrock dimension. Null if a section is air.
+     *                 Shared sections are copied before a block update changes them.
+     * @param blockEntities the encoded block entities of each section, or null if a section has none
+     * @param heights the highest block Y of each block column, indexed by {@code (z << 4) | x}
+     */
+    public void addColumn(int chunkX, int chunkZ, @Nullable GeyserChunkSection[] sections, byte @Nullable [][] blockEntities, short[] heights) {
+        columns.put(MathUtils.chunkPositionToLong(chunkX, chunkZ), new Column(sections, blockEntities, heights));
+    }
+
+    public void removeColumn(int chunkX, int chunkZ) {
+        if (columns != null) {
+            columns.remove(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        }
+    }
+
+    public void clear() {
+        if (columns != null) {
+            columns.clear();
+        }
+    }
+
+    /**
+     * Applies a block change to the held section, so the client gets it if it requests that section afterward.
+     */
+    public void onBlockUpdate(int x, int y, int z, int blockState) {
+        if (columns == null) {
+            return;
+        }
+
+        // A column that is still being translated doesn't have this change yet, and replaces the one held here once sent
+        if (session.getChunkEncodingQueue().deferIfPending(x >> 4, z >> 4, () -> onBlockUpdate(x, y, z, blockState))) {
+            return;
+        }
+
+        Column column = columns.get(MathUtils.chunkPositionToLong(x >> 4, z >> 4));
+        if (column == null) {
+            return;
+        }
+
+        int minSectionY = session.getBedrockDimension().minY() >> 4;
+        int index = (y >> 4) - minSectionY;
+        if (index < 0 || index >= column.sections().length) {
+            // The client doesn't request sections above the ones it was told about
+            return;
+        }
+
+        BlockMappings mappings = session.getBlockMappings();
+        boolean waterlogged = BlockRegistries.WATERLOGGED.get().get(blockState);
+        GeyserChunkSection section = column.sections()[index];
+        if (section == null) {
+            if (isAir(blockState)) {
+                return;
+            }
+            section = new GeyserChunkSection(mappings.getBedrockAir().getRuntimeId(), y >> 4);
+        } else {
+            section = editable(section, y >> 4, mappings.getBedrockAir().getRuntimeId(), waterlogged);
+        }
+        column.sections()[index] = section;
+
+        section.setFullBlock(x & 0xF, y & 0xF, z & 0xF, 0, mappings.getBedrockBlockId(blockState));
+        if (section.getBlockStorageArray().length > 1) {
+            section.setFullBlock(x & 0xF, y & 0xF, z & 0xF, 1, waterlogged ?
+                mappings.getBedrockWater().getRuntimeId() : mappings.getBedrockAir().getRuntimeId());
+        }
+
+        int heightIndex = ((z & 0xF) << 4) | (x & 0xF);
+        if (!isAir(blockState) && y > column.heights()[heightIndex]) {
+            // Lowering the height would need the rest of the block column, which isn't kept
+            column.heights()[heightIndex] = (short) y;
+        }
+    }
+
+    /**
+     * @return a section that is safe to modify, and that has a second layer if it needs one
+     */
+    private static GeyserChunkSection editable(GeyserChunkSection section, int subChunkIndex, int airId, boolean needsSecondLayer) {
+        BlockStorage[] layers = section.getBlockStorageArray();
+        boolean editable = !section.isShared() && (layers.length > 1 || !needsSecondLayer);
+        for (BlockStorage layer : layers) {
+            // Immutable palettes are shared between sections too
+            editable &= layer.getPalette() instanceof IntArrayList;
+        }
+        if (editable) {
+            return section;
+        }
+
+        BlockStorage[] copy = new BlockStorage[needsSecondLayer ? Math.max(2, layers.length) : layers.length];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = i < layers.length ? layers[i].copy() : new BlockStorage(airId);
+        }
+        return new GeyserChunkSection(copy, subChunkIndex);
+    }
+
+    /**
+     * Answers the client's request for sections around a position.
+     */
+    public void handleRequest(SubChunkRequestPacket packet) {
+        BedrockDimension dimension = session.getBedrockDimension();
+        int minSectionY = dimension.minY() >> 4;
+        int sectionCount = dimension.height() >> 4;
+        boolean blobs = session.getChunkBlobCache().isActive();
+        Vector3i center = packet.getSubChunkPosition();
+
+        SubChunkPacket response = new SubChunkPacket();
+        response.setDimension(packet.getDimension());
+        response.setCenterPosition(center);
+        response.setCacheEnabled(blobs);
+
+        LongSet servedSections = new LongOpenHashSet();
+        LongSet servedChunks = new LongOpenHashSet();
+        for (Vector3i offset : packet.getPositionOffsets()) {
+            SubChunkData subChunk = new SubChunkData();
+            subChunk.setPosition(offset);
+            subChunk.setData(Unpooled.EMPTY_BUFFER);
+            subChunk.setHeightMapType(HeightMapDataType.NO_DATA);
+            response.getSubChunks().add(subChunk);
+
+            if (packet.getDimension() != dimension.bedrockId()) {
+                subChunk.setResult(SubChunkRequestResult.INVALID_DIMENSION);
+                continue;
+            }
+
+            int chunkX = center.getX() + offset.getX();
+            int sectionY = center.getY() + offset.getY();
+            int chunkZ = center.getZ() + offset.getZ();
+            Column column = columns.get(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+            if (column == null) {
+                subChunk.setResult(SubChunkRequestResult.CHUNK_NOT_FOUND);
+                continue;
+            }
+
+            int index = sectionY - minSectionY;
+            if (index < 0 || index >= sectionCount) {
+                subChunk.setResult(SubChunkRequestResult.Y_INDEX_OUT_OF_BOUNDS);
+                continue;
+            }
+
+            writeHeightMap(subChunk, column.heights(), sectionY);
+
+            GeyserChunkSection section = index < column.sections().length ? column.sections()[index] : null;
+            if (section == null || section.isEmpty()) {
+                subChunk.setResult(SubChunkRequestResult.SUCCESS_ALL_AIR);
+            } else {
+                subChunk.setResult(SubChunkRequestResult.SUCCESS);
+                byte[] encoded = encode(section);
+                byte[] blockEntities = column.blockEntities()[index];
+                if (blobs) {
+                    // The section itself is referenced by hash; block entities are always sent along
+                    subChunk.setBlobId(session.getChunkBlobCache().registerBlob(encoded));
+                    if (blockEntities != null) {
+                        subChunk.setData(Unpooled.wrappedBuffer(blockEntities));
+                    }
+                } else if (blockEntities != null) {
+                    subChunk.setData(Unpooled.wrappedBuffer(encoded, blockEntities));
+                } else {
+                    subChunk.setData(Unpooled.wrappedBuffer(encoded));
+                }
+            }
+            servedSections.add(sectionKey(chunkX, sectionY, chunkZ));
+            servedChunks.add(MathUtils.chunkPositionToLong(chunkX, chunkZ));
+        }
+
+        session.sendUpstreamPacket(response);
+
+        if (!servedSections.isEmpty()) {
+            refreshItemFrames(servedSections, servedChunks);
+        }
+    }
+
+    /**
+     * Sends item frames in sections that have just been handed to the client, since item frames are blocks on Bedrock
+     * and aren't part of the held sections.
+     */
+    private void refreshItemFrames(LongSet servedSections, LongSet servedChunks) {
+        for (long chunkPosition : servedChunks) {
+            int chunkX = (int) (chunkPosition >> 32);
+            int chunkZ = (int) chunkPosition;
+            for (ItemFrameEntity itemFrame : session.getItemFrameCache().getInChunk(chunkX, chunkZ)) {
+                if (servedSections.contains(sectionKey(chunkX, itemFrame.getBedrockPosition().getY() >> 4, chunkZ))) {
+                    itemFrame.updateBlock(true);
+                }
+            }
+        }
+    }
+
+    private static byte[] encode(GeyserChunkSection section) {
+        ByteBuf buffer = Unpooled.buffer(section.estimateNetworkSize());
+        section.writeToNetwork(buffer);
+        return ByteBufUtil.getBytes(buffer);
+    }
+
+    /**
+     * Describes where the highest blocks of a section's block columns are, relative to that section.
+     */
+    private static void writeHeightMap(SubChunkData subChunk, short[] heights, int sectionY) {
+        int minY = sectionY << 4;
+        boolean allAbove = true;
+        boolean allBelow = true;
+        byte[] heightMap = new byte[256];
+        for (int i = 0; i < 256; i++) {
+            int height = heights[i] == NO_HEIGHT ? -1 : Math.max(-1, Math.min(16, heights[i] - minY));
+            heightMap[i] = (byte) height;
+            allAbove &= height == 16;
+            allBelow &= height == -1;
+        }
+
+        if (allAbove) {
+            subChunk.setHeightMapType(HeightMapDataType.TOO_HIGH);
+        } else if (allBelow) {
+            subChunk.setHeightMapType(HeightMapDataType.TOO_LOW);
+        } else {
+            subChunk.setHeightMapType(HeightMapDataType.HAS_DATA);
+            subChunk.setHeightMapData(Unpooled.wrappedBuffer(heightMap));
+        }
+    }
+
+    /**
+     * Finds the highest non-air block of each block column in a chunk.
+     *
+     * @param javaBlocks the Java block palettes of the chunk, from the bottom of the Java world
+     * @param minSectionY the section Y of the first palette
+     * @return the highest block Y of each block column, indexed by {@code (z << 4) | x}
+     */
+    public static short[] computeHeights(@Nullable DataPalette[] javaBlocks, int minSectionY) {
+        short[] heights = new short[256];
+        Arrays.fill(heights, NO_HEIGHT);
+        int remaining = 256;
+        for (int sectionY = javaBlocks.length - 1; sectionY >= 0 && remaining > 0; sectionY--) {
+            DataPalette section = javaBlocks[sectionY];
+            if (section == null) {
+                continue;
+            }
+
+            int baseY = (sectionY + minSectionY) << 4;
+            for (int i = 0; i < 256; i++) {
+                if (heights[i] != NO_HEIGHT) {
+                    continue;
+                }
+
+                for (int y = 15; y >= 0; y--) {
+                    if (!isAir(section.get(i & 0xF, y, i >> 4))) {
+                        heights[i] = (short) (baseY + y);
+                        remaining--;
+                        break;
+                    }
+                }
+            }
+        }
+        return heights;
+    }
+
+    private static boolean isAir(int javaBlockState) {
+        BlockState state = BlockState.of(javaBlockState);
+        return state.is(Blocks.AIR) || state.is(Blocks.CAVE_AIR) || state.is(Blocks.VOID_AIR);
+    }
+
+    private static long sectionKey(int chunkX, int sectionY, int chunkZ) {
+        return ((chunkX & 0x3FFFFFFL) << 38) | ((chunkZ & 0x3FFFFFFL) << 12) | (sectionY & 0xFFFL);
+    }
+
+    private record Column(@Nullable GeyserChunkSection[] sections, byte @Nullable [][] blockEntities, short[] heights) {
+    }
+}
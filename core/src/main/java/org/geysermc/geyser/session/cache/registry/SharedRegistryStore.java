@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache.registry;
+
+import net.kyori.adventure.key.Key;
+import org.cloudburstmc.nbt.NbtMap;
+import org.geysermc.mcprotocollib.protocol.data.game.RegistryEntry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Holds parsed registries that are shared between sessions that received identical registry data.
+ * <p>
+ * Registries are keyed by their registry key and the full contents of the entries the server sent, so a registry is
+ * only ever shared between sessions that would have parsed it into the same thing. Shared registries are never
+ * modified; a session that receives new registry data swaps to another entry. An entry is evicted once no session
+ * uses it anymore.
+ */
+public final class SharedRegistryStore {
+    private static final ConcurrentMap<Content, Entry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private SharedRegistryStore() {
+    }
+
+    /**
+     * Gets the shared registry for these entries, or parses and stores it if no other session has it.
+     *
+     * @param reader parses the entries, if the registry isn't already stored
+     */
+    public static Entry acquire(JavaRegistryKey<?> registryKey, List<RegistryEntry> entries, Supplier<SimpleJavaRegistry<?>> reader) {
+        Key[] ids = new Key[entries.size()];
+        NbtMap[] data = new NbtMap[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            RegistryEntry entry = entries.get(i);
+            ids[i] = entry.getId();
+            data[i] = entry.getData();
+        }
+        // Arrays#asList allows null data (server telling us to use the default)
+        Content content = new Content(registryKey, Arrays.asList(ids), Arrays.asList(data));
+        // Parsed outside the map, so sessions acquiring other registries don't have to wait on it
+        Entry parsed = null;
+        while (true) {
+            Entry existing = REGISTRIES.get(content);
+            if (existing != null) {
+                if (existing.retain()) {
+                    return existing;
+                }
+                // The last session using it has just released it; replace it
+            }
+
+            if (parsed == null) {
+                parsed = new Entry(content, reader.get());
+            }
+            boolean installed = existing == null ? REGISTRIES.putIfAbsent(content, parsed) == null : REGISTRIES.replace(content, existing, parsed);
+            if (installed) {
+                return parsed;
+            }
+        }
+    }
+
+    /**
+     * @return the amount of registries currently stored
+     */
+    public static int size() {
+        return REGISTRIES.size();
+    }
+
+    private record Content(JavaRegistryKey<?> registryKey, List<Key> ids, List<NbtMap> data) {
+    }
+
+    public static final class Entry {
+        private final Content content;
+        private final SimpleJavaRegistry<?> registry;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Entry(Content content, SimpleJavaRegistry<?> registry) {
+            this.content = content;
+            this.registry = registry;
+        }
+
+        public SimpleJavaRegistry<?> registry() {
+            return registry;
+        }
+
+        /**
+         * Lets go of this registry. Must be called once for every {@link #acquire(JavaRegistryKey, List, Supplier)}.
+         */
+        public void release() {
+            if (references.decrementAndGet() == 0) {
+                // Does nothing if this entry has already been replaced
+                REGISTRIES.remove(content, this);
+            }
+        }
+
+        /**
+         * @return false if every session has already let go of this registry, in which case it must not be used
+         */
+        private boolean retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(count, count + 1));
+            return true;
+        }
+    }
+}
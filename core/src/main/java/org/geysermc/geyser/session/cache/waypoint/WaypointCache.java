@@ -61,28 +61,30 @@ public final class WaypointCache {
 
         Map<Identifier, CustomWaypointStyle> styles = new Object2ObjectOpenHashMap<>();
 
-        SessionDefineCustomWaypointsEvent event = new SessionDefineCustomWaypointsEvent(session) {
-            @Override
-            public Map<Identifier, CustomWaypointStyle> customWaypointStyles() {
-                return Collections.unmodifiableMap(styles);
-            }
-
-            @Override
-            public void register(Identifier identifier, CustomWaypointStyle style) {
-                Objects.requireNonNull(identifier, "identifier may not be null");
-                Objects.requireNonNull(style, "style may not be null");
-                if (styles.containsKey(identifier)) {
-                    throw new CustomWaypointStyleRegisterException("Not registering waypoint style with identifier " + identifier + " as it was already registered");
-                } else {
-                    styles.put(identifier, style);
-                }
-            }
-        };
-
         // First, include the session-agnostic mappings
         styles.putAll(Registries.WAYPOINT_STYLE_MAPPINGS.get());
         // Then, fire the event to the API
-        GeyserImpl.getInstance().eventBus().fire(event);
+        if (GeyserImpl.getInstance().eventBus().hasSubscribers(SessionDefineCustomWaypointsEvent.class)) {
+            SessionDefineCustomWaypointsEvent event = new SessionDefineCustomWaypointsEvent(session) {
+                @Override
+                public Map<Identifier, CustomWaypointStyle> customWaypointStyles() {
+                    return Collections.unmodifiableMap(styles);
+                }
+
+                @Override
+                public void register(Identifier identifier, CustomWaypointStyle style) {
+                    Objects.requireNonNull(identifier, "identifier may not be null");
+                    Objects.requireNonNull(style, "style may not be null");
+                    if (styles.containsKey(identifier)) {
+                        throw new CustomWaypointStyleRegisterException("Not registering waypoint style with identifier " + identifier + " as it was already registered");
+                    } else {
+                        styles.put(identifier, style);
+                    }
+                }
+            };
+
+            GeyserImpl.getInstance().eventBus().fire(event);
+        }
 
         // Include the vanilla default waypoint style if it was not overridden
         if (!styles.containsKey(VanillaWaypoint.VANILLA_WAYPOINT_STYLE)) {
@@ -53,6 +53,7 @@ import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.registry.type.CustomSkull;
 import org.geysermc.geyser.registry.type.ItemMapping;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ItemDataCache;
 import org.geysermc.geyser.skin.SkinManager;
 import org.geysermc.geyser.text.ChatColor;
 import org.geysermc.geyser.text.MinecraftLocale;
@@ -187,6 +188,22 @@ public final class ItemTranslator {
     }
 
     public static ItemData.@NonNull Builder translateToBedrock(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents customComponents) {
+        ItemDataCache cache = session.getItemDataCache();
+        ItemDataCache.Key key = cache.key(session, javaItem, bedrockItem, count, customComponents);
+        if (key == null) {
+            return translateToBedrockUncached(session, javaItem, bedrockItem, count, customComponents);
+        }
+
+        ItemData cached = cache.get(key);
+        if (cached != null) {
+            return cached.toBuilder();
+        }
+        ItemData.Builder builder = translateToBedrockUncached(session, javaItem, bedrockItem, count, customComponents);
+        cache.put(key, builder.build());
+        return builder;
+    }
+
+    private static ItemData.@NonNull Builder translateToBedrockUncached(GeyserSession session, Item javaItem, ItemMapping bedrockItem, int count, @Nullable DataComponents customComponents) {
         BedrockItemBuilder nbtBuilder = new BedrockItemBuilder();
 
         // Populates default components that aren't sent over the network
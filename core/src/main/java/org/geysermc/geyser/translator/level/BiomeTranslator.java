@@ -22,119 +22,156 @@
  * @author GeyserMC
  * @link https://github.com/GeyserMC/Geyser
  */
-
 package org.geysermc.geyser.translator.level;
 
-import org.geysermc.geyser.session.cache.registry.JavaRegistries;
-import org.geysermc.geyser.session.cache.registry.JavaRegistry;
-import org.geysermc.geyser.session.cache.registry.RegistryEntryContext;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
 import org.geysermc.geyser.level.chunk.BlockStorage;
-import org.geysermc.geyser.level.chunk.bitarray.BitArray;
 import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
 import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
 import org.geysermc.geyser.registry.Registries;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.registry.RegistryEntryContext;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.Arrays;
 
 // Array index formula by https://wiki.vg/Chunk_Format
 public class BiomeTranslator {
+    /**
+     * Encoded biome sections, keyed by the Bedrock biome of each of their 64 cells. Neighbouring sections and chunks
+     * nearly always have the same biomes, so these are shared between all sessions.
+     */
+    private static final Cache<BiomeCells, byte[]> ENCODED_BIOMES = CacheBuilder.newBuilder()
+        .maximumSize(Integer.getInteger("Geyser.BiomeCacheSize", 1024))
+        .build();
 
     public static int loadServerBiome(RegistryEntryContext entry) {
         String javaIdentifier = entry.id().asString();
         return Registries.BIOME_IDENTIFIERS.get().getOrDefault(javaIdentifier, 0);
     }
 
-    public static BlockStorage toNewBedrockBiome(GeyserSession session, DataPalette biomeData) {
-        JavaRegistry<Integer> biomeTranslations = session.getRegistryCache().registry(JavaRegistries.BIOME);
+    /**
+     * Translates the biomes of a Java chunk section and writes them in the Bedrock format.
+     */
+    public static void writeBedrockBiome(GeyserSession session, ByteBuf buffer, DataPalette biomeData) {
+        int[] bedrockBiomes = session.getRegistryCache().bedrockBiomes();
         // As of 1.17.10: the client expects the same format as a chunk but filled with biomes
         // As of 1.18 this is the same as Java Edition
 
         Palette palette = biomeData.getPalette();
         if (palette instanceof SingletonPalette) {
-            int biomeId = biomeTranslations.byId(palette.idToState(0));
-            return new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(biomeId));
-        } else {
-            BlockStorage storage;
-            if (!(palette instanceof GlobalPalette)) {
-                BitStorage bitStorage = biomeData.getStorage();
-                int size = palette.size();
-
-                // Fast-path: if all 64 biome cells use the same palette index,
-                // use a singleton instead of computing the full 4096-entry BitArray
-                int firstIdx = bitStorage.get(0);
-                boolean allSame = true;
-                for (int i = 1; i < 64; i++) {
-                    if (bitStorage.get(i) != firstIdx) {
-                        allSame = false;
-                        break;
-                    }
-                }
+            writeSingleBiome(buffer, bedrockBiome(bedrockBiomes, palette.idToState(0)));
+            return;
+        }
 
-                if (allSame) {
-                    int biomeId = biomeTranslations.byId(palette.idToState(firstIdx)).intValue();
-                    storage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(biomeId));
-                } else {
-                    // Prevent resizing by allocating what we can ahead of time
-                    BitArray bitArray = BitArrayVersion.forBitsCeil(bitStorage.getBitsPerEntry())
-                            .createArray(BlockStorage.SIZE);
+        // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
+        BitStorage bitStorage = biomeData.getStorage();
+        int[] cells = new int[64];
+        boolean allSame = true;
+        for (int i = 0; i < 64; i++) {
+            cells[i] = bedrockBiome(bedrockBiomes, palette.idToState(bitStorage.get(i)));
+            allSame &= cells[i] == cells[0];
+        }
 
-                    IntList bedrockPalette = new IntArrayList(size);
+        if (allSame) {
+            writeSingleBiome(buffer, cells[0]);
+            return;
+        }
 
-                    for (int i = 0; i < size; i++) {
-                        int javaId = palette.idToState(i);
-                        bedrockPalette.add(biomeTranslations.byId(javaId).intValue());
-                    }
+        BiomeCells key = new BiomeCells(cells);
+        byte[] encoded = ENCODED_BIOMES.getIfPresent(key);
+        if (encoded == null) {
+            encoded = encode(cells);
+            ENCODED_BIOMES.put(key, encoded);
+        }
+        buffer.writeBytes(encoded);
+    }
 
-                    // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
-                    for (int i = 0; i < 64; i++) {
-                        int idx = bitStorage.get(i);
-                        int x = i & 3;
-                        int y = (i >> 4) & 3;
-                        int z = (i >> 2) & 3;
-                        // Convert biome coordinates into block coordinates
-                        // Bedrock expects a full 4096 blocks
-                        multiplyIdToStorage(bitArray, idx, x, y, z);
-                    }
+    private static int bedrockBiome(int[] bedrockBiomes, int javaId) {
+        return javaId >= 0 && javaId < bedrockBiomes.length ? bedrockBiomes[javaId] : 0;
+    }
+
+    private static void writeSingleBiome(ByteBuf buffer, int bedrockBiome) {
+        new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockBiome)).writeToNetwork(buffer);
+    }
+
+    /**
+     * Expands 64 biome cells into the 4096 entries Bedrock expects.
+     */
+    private static byte[] encode(int[] cells) {
+        IntArrayList bedrockPalette = new IntArrayList(4);
+        int[] cellIndexes = new int[64];
+        for (int i = 0; i < 64; i++) {
+            int index = bedrockPalette.indexOf(cells[i]);
+            if (index == -1) {
+                index = bedrockPalette.size();
+                bedrockPalette.add(cells[i]);
+            }
+            cellIndexes[i] = index;
+        }
+
+        // Only power of two sizes are used, so a column of 16 blocks always takes up whole words, or exactly half of one
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(bedrockPalette.size() - 1));
+        bits = Integer.highestOneBit(bits) == bits ? bits : Integer.highestOneBit(bits) << 1;
+        BitArrayVersion version = BitArrayVersion.forBitsCeil(bits);
 
-                    storage = new BlockStorage(bitArray, bedrockPalette);
+        int[] words = new int[BlockStorage.SIZE * bits / 32];
+        int columnWords = Math.max(1, bits / 2); // 16 entries of this many bits
+        int[] column = new int[columnWords];
+        for (int cellX = 0; cellX < 4; cellX++) {
+            for (int cellZ = 0; cellZ < 4; cellZ++) {
+                // All 16 block columns in a biome cell column are the same, so only build one of them
+                Arrays.fill(column, 0);
+                for (int y = 0; y < 16; y++) {
+                    int bitIndex = y * bits;
+                    column[bitIndex >> 5] |= cellIndexes[((y >> 2) << 4) | (cellZ << 2) | cellX] << (bitIndex & 31);
                 }
-            } else {
-                storage = new BlockStorage(0);
-
-                // Each section of biome corresponding to a chunk section contains 4 * 4 * 4 entries
-                for (int i = 0; i < 64; i++) {
-                    int javaId = palette.idToState(biomeData.getStorage().get(i));
-                    int x = i & 3;
-                    int y = (i >> 4) & 3;
-                    int z = (i >> 2) & 3;
-                    // Get the Bedrock biome ID override
-                    int biomeId = biomeTranslations.byId(javaId);
-                    int idx = storage.idFor(biomeId);
-                    // Convert biome coordinates into block coordinates
-                    // Bedrock expects a full 4096 blocks
-                    // Implementation note: storage.getBitArray() must be called and not stored - if the palette
-                    // grows, then the instance can change
-                    multiplyIdToStorage(storage.getBitArray(), idx, x, y, z);
+
+                for (int blockX = cellX << 2; blockX < (cellX << 2) + 4; blockX++) {
+                    for (int blockZ = cellZ << 2; blockZ < (cellZ << 2) + 4; blockZ++) {
+                        // Bedrock indexes blocks as XZY, so each block column is 16 entries in a row
+                        int blockColumn = (blockX << 4) | blockZ;
+                        if (bits == 1) {
+                            words[blockColumn >> 1] |= column[0] << ((blockColumn & 1) << 4);
+                        } else {
+                            System.arraycopy(column, 0, words, blockColumn * columnWords, columnWords);
+                        }
+                    }
                 }
             }
-            return storage;
+        }
+
+        ByteBuf buffer = Unpooled.buffer();
+        try {
+            new BlockStorage(version.createArray(BlockStorage.SIZE, words), bedrockPalette).writeToNetwork(buffer);
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
         }
     }
 
-    private static void multiplyIdToStorage(final BitArray bitArray, final int idx, final int x, final int y, final int z) {
-        for (int blockX = x << 2; blockX < (x << 2) + 4; blockX++) {
-            for (int blockZ = z << 2; blockZ < (z << 2) + 4; blockZ++) {
-                for (int blockY = y << 2; blockY < (y << 2) + 4; blockY++) {
-                    bitArray.set((blockX << 8) | (blockZ << 4) | blockY, idx);
-                }
-            }
+    /**
+     * The Bedrock biome of each of the 64 cells of a section.
+     */
+    private record BiomeCells(int[] cells) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof BiomeCells other && Arrays.equals(cells, other.cells);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(cells);
         }
     }
 }
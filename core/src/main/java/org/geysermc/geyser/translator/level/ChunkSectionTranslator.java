@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.translator.level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.geysermc.geyser.level.block.type.BlockState;
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.level.chunk.GeyserChunkSection;
+import org.geysermc.geyser.level.chunk.bitarray.BitArray;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayTranscoder;
+import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
+import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
+import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMappings;
+import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
+
+import java.util.Arrays;
+
+import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
+
+/**
+ * Converts Java block data of a chunk section into Bedrock block storages.
+ * <p>
+ * The result of a conversion only depends on the Java section contents and the Bedrock block mappings, so identical
+ * sections - which are very common when many players are in the same area - are converted once and shared between sessions.
+ */
+public final class ChunkSectionTranslator {
+    /**
+     * The maximum approximate amount of bytes that translated sections may take up. Set to 0 to disable the cache.
+     */
+    private static final long MAX_CACHE_WEIGHT = Long.getLong("Geyser.ChunkSectionCacheSize", 32L * 1024L * 1024L);
+
+    private static final Cache<SectionKey, TranslatedSection> CACHE = MAX_CACHE_WEIGHT > 0 ? CacheBuilder.newBuilder()
+        .maximumWeight(MAX_CACHE_WEIGHT)
+        .weigher((SectionKey key, TranslatedSection section) -> key.weight() + section.weight())
+        .recordStats()
+        .build() : null;
+
+    /**
+     * Scratch space for translating a section. Sections may be translated on multiple threads at once.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private ChunkSectionTranslator() {
+    }
+
+    /**
+     * Translates the given Java section. The returned section must be treated as immutable.
+     *
+     * @param mappings the block mappings of the session
+     * @param javaBlocks the non-empty Java block data of the section
+     * @return the translated section
+     */
+    public static TranslatedSection translate(BlockMappings mappings, DataPalette javaBlocks) {
+        Palette javaPalette = javaBlocks.getPalette();
+        if (CACHE == null || javaPalette instanceof SingletonPalette) {
+            // Singleton sections are cheaper to translate than to look up
+            return translate0(mappings, javaBlocks, false);
+        }
+
+        SectionKey key = SectionKey.of(mappings, javaBlocks);
+        TranslatedSection section = CACHE.getIfPresent(key);
+        if (section == null) {
+            section = translate0(mappings, javaBlocks, true);
+            // The key must not reference the block data any longer, as it can be modified through block updates
+            CACHE.put(key.copy(), section);
+        }
+        return section;
+    }
+
+    public static @Nullable CacheStats cacheStats() {
+        return CACHE == null ? null : CACHE.stats();
+    }
+
+    public static long cacheSize() {
+        return CACHE == null ? 0 : CACHE.size();
+    }
+
+    private static TranslatedSection translate0(BlockMappings mappings, DataPalette javaBlocks, boolean encode) {
+        Palette javaPalette = javaBlocks.getPalette();
+        BitStorage javaData = javaBlocks.getStorage();
+
+        if (javaPalette instanceof GlobalPalette) {
+            // As this is the global palette, simply iterate through the whole chunk section once
+            Scratch scratch = SCRATCH.get();
+            int[] javaIds = scratch.unpackedData;
+            BitArrayTranscoder.unpack(javaData, javaIds);
+
+            int airId = mappings.getBedrockAir().getRuntimeId();
+            BlockStorage[] layers = new BlockStorage[] {new BlockStorage(airId), new BlockStorage(airId)};
+            IntList bedrockBlockEntities = scratch.bedrockBlockEntities;
+            bedrockBlockEntities.clear();
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                int javaId = javaIds[yzx];
+                int bedrockId = mappings.getBedrockBlockId(javaId);
+                int xzy = indexYZXtoXZY(yzx);
+                layers[0].setFullBlock(xzy, bedrockId);
+
+                if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                    layers[1].setFullBlock(xzy, mappings.getBedrockWater().getRuntimeId());
+                }
+
+                // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+                if (BlockState.of(javaId).block() instanceof BedrockChunkWantsBlockEntityTag) {
+                    bedrockBlockEntities.add(yzx);
+                }
+            }
+            return TranslatedSection.of(layers, bedrockBlockEntities, encode);
+        }
+
+        if (javaPalette instanceof SingletonPalette) {
+            // There's only one block here. Very easy!
+            int javaId = javaPalette.idToState(0);
+            int bedrockId = mappings.getBedrockBlockId(javaId);
+            BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
+
+            BlockStorage[] layers;
+            if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(mappings.getBedrockWater().getRuntimeId()));
+                layers = new BlockStorage[] {blockStorage, waterlogged};
+            } else {
+                layers = new BlockStorage[] {blockStorage};
+            }
+            // If a chunk contains all of the same piston or flower pot then god help us
+            return TranslatedSection.of(layers, null, encode);
+        }
+
+        Scratch scratch = SCRATCH.get();
+        IntList bedrockPalette = new IntArrayList(javaPalette.size());
+        boolean waterlogged = false;
+        boolean[] waterloggedPaletteIds = scratch.waterloggedPaletteIds(javaPalette.size());
+        boolean bedrockOnlyBlockEntities = false;
+        boolean[] bedrockOnlyBlockEntityIds = scratch.bedrockOnlyBlockEntityIds(javaPalette.size());
+
+        // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
+        for (int i = 0; i < javaPalette.size(); i++) {
+            int javaId = javaPalette.idToState(i);
+            bedrockPalette.add(mappings.getBedrockBlockId(javaId));
+
+            if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
+                waterloggedPaletteIds[i] = true;
+                waterlogged = true;
+            }
+
+            // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
+            if (BlockState.of(javaId).block() instanceof BedrockChunkWantsBlockEntityTag) {
+                bedrockOnlyBlockEntityIds[i] = true;
+                bedrockOnlyBlockEntities = true;
+            }
+        }
+
+        int[] paletteIds = scratch.unpackedData;
+        BitArrayTranscoder.unpack(javaData, paletteIds);
+
+        // Find Bedrock-exclusive block entities
+        // We only do this if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating
+        // through the whole block data for no reason, as most sections will not contain any pistons or flower pots
+        IntList bedrockBlockEntities = null;
+        if (bedrockOnlyBlockEntities) {
+            bedrockBlockEntities = scratch.bedrockBlockEntities;
+            bedrockBlockEntities.clear();
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                if (bedrockOnlyBlockEntityIds[paletteIds[yzx]]) {
+                    bedrockBlockEntities.add(yzx);
+                }
+            }
+        }
+
+        // Convert data array from YZX to XZY coordinate order
+        int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size());
+        BitArray bedrockData = BitArrayTranscoder.packXZY(paletteIds, BitArrayVersion.forBitsCeil(bedrockDataBits));
+        BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
+        BlockStorage[] layers;
+
+        if (!waterlogged) {
+            layers = new BlockStorage[]{ layer0 };
+        } else {
+            // The section contains waterlogged blocks, we need to generate a V1 block storage for layer 1 with
+            // palette ID 1 indicating water
+            BitArray layer1Data = BitArrayTranscoder.packFlagsXZY(paletteIds, waterloggedPaletteIds);
+
+            // V1 palette
+            IntList layer1Palette = IntList.of(
+                    mappings.getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
+                    mappings.getBedrockWater().getRuntimeId());
+
+            layers = new BlockStorage[]{ layer0, new BlockStorage(layer1Data, layer1Palette) };
+        }
+
+        return TranslatedSection.of(layers, bedrockBlockEntities, encode);
+    }
+
+    /**
+     * Per-thread buffers that are only used while a section is being translated.
+     */
+    private static final class Scratch {
+        private final int[] unpackedData = new int[BlockStorage.SIZE];
+        private final IntList bedrockBlockEntities = new IntArrayList();
+        private boolean[] waterloggedPaletteIds = new boolean[0];
+        private boolean[] bedrockOnlyBlockEntityIds = new boolean[0];
+
+        /**
+         * @return an array of at least the given size, of which that many entries are false
+         */
+        boolean[] waterloggedPaletteIds(int size) {
+            if (waterloggedPaletteIds.length < size) {
+                waterloggedPaletteIds = new boolean[size];
+            } else {
+                Arrays.fill(waterloggedPaletteIds, 0, size, false);
+            }
+            return waterloggedPaletteIds;
+        }
+
+        /**
+         * @return an array of at least the given size, of which that many entries are false
+         */
+        boolean[] bedrockOnlyBlockEntityIds(int size) {
+            if (bedrockOnlyBlockEntityIds.length < size) {
+                bedrockOnlyBlockEntityIds = new boolean[size];
+            } else {
+                Arrays.fill(bedrockOnlyBlockEntityIds, 0, size, false);
+            }
+            return bedrockOnlyBlockEntityIds;
+        }
+    }
+
+    /**
+     * A translated chunk section.
+     *
+     * @param layers the Bedrock block storages
+     * @param encodedLayers the network encoding of the block storages, if this section is shared
+     * @param bedrockBlockEntities YZX indices of blocks that are only block entities on Bedrock, such as pistons and flower pots
+     */
+    public record TranslatedSection(BlockStorage[] layers, byte @Nullable [] encodedLayers, int[] bedrockBlockEntities) {
+
+        static TranslatedSection of(BlockStorage[] layers, @Nullable IntList bedrockBlockEntities, boolean encode) {
+            int[] blockEntities = bedrockBlockEntities == null || bedrockBlockEntities.isEmpty() ? IntArrays.EMPTY_ARRAY : bedrockBlockEntities.toIntArray();
+            if (!encode) {
+                return new TranslatedSection(layers, null, blockEntities);
+            }
+
+            ByteBuf byteBuf = Unpooled.buffer();
+            try {
+                for (BlockStorage layer : layers) {
+                    layer.writeToNetwork(byteBuf);
+                }
+                return new TranslatedSection(layers, ByteBufUtil.getBytes(byteBuf), blockEntities);
+            } finally {
+                byteBuf.release();
+            }
+        }
+
+        public GeyserChunkSection toChunkSection(int subChunkIndex) {
+            return new GeyserChunkSection(layers, encodedLayers, subChunkIndex);
+        }
+
+        int weight() {
+            int weight = 64 + (bedrockBlockEntities.length << 2);
+            for (BlockStorage layer : layers) {
+                weight += (layer.getBitArray().getWords().length << 2) + (layer.getPalette().size() << 2);
+            }
+            return encodedLayers == null ? weight : weight + encodedLayers.length;
+        }
+    }
+
+    /**
+     * Identifies a Java section by its full contents, along with the block mappings it will be translated with.
+     */
+    private static final class SectionKey {
+        private final BlockMappings mappings;
+        private final boolean globalPalette;
+        private final int bitsPerEntry;
+        private final int[] palette;
+        private final long[] data;
+        private final int hash;
+
+        private SectionKey(BlockMappings mappings, boolean globalPalette, int bitsPerEntry, int[] palette, long[] data, int hash) {
+            this.mappings = mappings;
+            this.globalPalette = globalPalette;
+            this.bitsPerEntry = bitsPerEntry;
+            this.palette = palette;
+            this.data = data;
+            this.hash = hash;
+        }
+
+        static SectionKey of(BlockMappings mappings, DataPalette javaBlocks) {
+            Palette javaPalette = javaBlocks.getPalette();
+            BitStorage javaData = javaBlocks.getStorage();
+
+            boolean globalPalette = javaPalette instanceof GlobalPalette;
+            int[] palette;
+            if (globalPalette) {
+                palette = IntArrays.EMPTY_ARRAY;
+            } else {
+                palette = new int[javaPalette.size()];
+                for (int i = 0; i < palette.length; i++) {
+                    palette[i] = javaPalette.idToState(i);
+                }
+            }
+
+            long[] data = javaData.getData();
+            int hash = System.identityHashCode(mappings);
+            hash = 31 * hash + javaData.getBitsPerEntry();
+            hash = 31 * hash + Arrays.hashCode(palette);
+            hash = 31 * hash + Arrays.hashCode(data);
+            return new SectionKey(mappings, globalPalette, javaData.getBitsPerEntry(), palette, data, hash);
+        }
+
+        SectionKey copy() {
+            return new SectionKey(mappings, globalPalette, bitsPerEntry, palette, Arrays.copyOf(data, data.length), hash);
+        }
+
+        int weight() {
+            return 48 + (palette.length << 2) + (data.length << 3);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SectionKey other)) {
+                return false;
+            }
+            return hash == other.hash && mappings == other.mappings && globalPalette == other.globalPalette
+                && bitsPerEntry == other.bitsPerEntry && Arrays.equals(palette, other.palette) && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -41,24 +41,32 @@ public class BedrockEmoteTranslator extends PacketTranslator<EmotePacket> {
     @Override
     public void translate(GeyserSession session, EmotePacket packet) {
         // For the future: could have a method that exposes which players will see the emote
-        ClientEmoteEvent event = new ClientEmoteEvent(session, packet.getEmoteId());
-        if (!GeyserImpl.getInstance().config().gameplay().emotesEnabled()) {
-            event.setCancelled(true);
-        }
+        boolean emotesEnabled = GeyserImpl.getInstance().config().gameplay().emotesEnabled();
+        boolean silent = false;
+        if (session.getGeyser().eventBus().hasSubscribers(ClientEmoteEvent.class)) {
+            ClientEmoteEvent event = new ClientEmoteEvent(session, packet.getEmoteId());
+            if (!emotesEnabled) {
+                event.setCancelled(true);
+            }
 
-        session.getGeyser().eventBus().fire(event);
-        if (event.isCancelled()) {
+            session.getGeyser().eventBus().fire(event);
+            if (event.isCancelled()) {
+                return;
+            }
+            silent = event.silent();
+        } else if (!emotesEnabled) {
             return;
         }
 
         int javaId = session.getPlayerEntity().getEntityId();
         String xuid = session.getAuthData().xuid();
         String emote = packet.getEmoteId();
+        boolean playSilently = silent;
         for (GeyserSession otherSession : session.getGeyser().getSessionManager().getSessions().values()) {
             if (otherSession != session) {
                 if (otherSession.isClosed()) continue;
 
-                otherSession.ensureInEventLoop(() -> playEmote(otherSession, javaId, xuid, emote, event.silent()));
+                otherSession.ensureInEventLoop(() -> playEmote(otherSession, javaId, xuid, emote, playSilently));
             }
         }
     }
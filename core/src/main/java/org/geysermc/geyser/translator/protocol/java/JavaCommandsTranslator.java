@@ -26,6 +26,8 @@
 package org.geysermc.geyser.translator.protocol.java;
 
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import it.unimi.dsi.fastutil.Hash;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -57,6 +59,7 @@ import org.geysermc.mcprotocollib.protocol.data.game.entity.attribute.AttributeT
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.ClientboundCommandsPacket;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 @SuppressWarnings("removal") // We know. This is our doing.
@@ -73,6 +76,17 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
     private static final String[] VALID_COLORS;
     private static final String[] VALID_SCOREBOARD_SLOTS;
 
+    /**
+     * Translated command trees, so sessions that receive the same tree (e.g. everyone with the same permissions)
+     * don't build it again. Only used if nothing listens to the command events, as listeners may change the commands
+     * per session.
+     */
+    private static final Cache<CommandTreeKey, TranslatedCommands> TRANSLATED_TREES = Boolean.getBoolean("Geyser.CacheCommandTrees") ?
+        CacheBuilder.newBuilder()
+            .maximumSize(Integer.getInteger("Geyser.CommandTreeCacheSize", 64))
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build() : null;
+
     private static final Hash.Strategy<BedrockCommandInfo> PARAM_STRATEGY = new Hash.Strategy<>() {
         @Override
         public int hashCode(BedrockCommandInfo o) {
@@ -131,6 +145,39 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             return;
         }
 
+        CommandTreeKey key = null;
+        if (TRANSLATED_TREES != null && !hasCommandListeners(session)) {
+            key = CommandTreeKey.of(session, packet);
+            TranslatedCommands cached = TRANSLATED_TREES.getIfPresent(key);
+            if (cached != null) {
+                sendCommands(session, cached);
+                return;
+            }
+        }
+
+        TranslatedCommands translated = translateCommands(session, packet);
+        if (translated == null) {
+            // Cancelled by an event
+            return;
+        }
+        if (key != null) {
+            TRANSLATED_TREES.put(key, translated);
+        }
+        sendCommands(session, translated);
+    }
+
+    private static boolean hasCommandListeners(GeyserSession session) {
+        var eventBus = session.getGeyser().eventBus();
+        return !eventBus.subscribers(ServerDefineCommandsEvent.class).isEmpty()
+            || !eventBus.subscribers(org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent.class).isEmpty();
+    }
+
+    /**
+     * Builds the Bedrock commands from the Java command tree.
+     *
+     * @return the commands, or null if an event cancelled them
+     */
+    private TranslatedCommands translateCommands(GeyserSession session, ClientboundCommandsPacket packet) {
         CommandRegistry registry = session.getGeyser().commandRegistry();
         CommandNode[] nodes = packet.getNodes();
         List<CommandData> commandData = new ArrayList<>();
@@ -182,13 +229,13 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         var event = new ServerDefineCommandsEvent(session, commands.keySet());
         eventBus.fire(event);
         if (event.isCancelled()) {
-            return;
+            return null;
         }
 
         var oldEvent = new org.geysermc.geyser.api.event.downstream.ServerDefineCommandsEvent(session, commands.keySet());
         eventBus.fire(oldEvent);
         if (oldEvent.isCancelled()) {
-            return;
+            return null;
         }
 
         // The command flags, set to NOT_CHEAT so known commands can be used while achievements are enabled.
@@ -239,8 +286,17 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
             commandData.add(createFakeHelpCommand());
         }
 
+        return new TranslatedCommands(List.copyOf(commandData), List.copyOf(knownCommands), List.copyOf(restrictedCommands), Set.copyOf(knownAliases));
+    }
+
+    private static void sendCommands(GeyserSession session, TranslatedCommands commands) {
+        session.setKnownCommands(commands.knownCommands());
+        session.setRestrictedCommands(commands.restrictedCommands());
+
+        // Copied, as translated commands may be shared between sessions
+        List<CommandData> commandData = new ArrayList<>(commands.commandData());
         if (session.getGeyser().platformType() == PlatformType.STANDALONE) {
-            session.getGeyser().commandRegistry().export(session, commandData, knownAliases);
+            session.getGeyser().commandRegistry().export(session, commandData, new HashSet<>(commands.knownAliases()));
         }
 
         // Add our commands to the AvailableCommandsPacket for the bedrock client
@@ -334,6 +390,26 @@ public class JavaCommandsTranslator extends PacketTranslator<ClientboundCommands
         return new CommandData("help", "", Set.of(CommandData.Flag.NOT_CHEAT), CommandPermission.ANY, aliases, Collections.emptyList(), new CommandOverloadData[0]);
     }
 
+    /**
+     * Everything the translated commands depend on. Besides the tree itself, this is the session state that ends up
+     * in command descriptions and suggestions.
+     */
+    private record CommandTreeKey(List<CommandNode> nodes, int firstNodeIndex, int protocolVersion, String locale,
+                                  List<String> levels, List<Key> enchantments, Set<String> teams) {
+
+        static CommandTreeKey of(GeyserSession session, ClientboundCommandsPacket packet) {
+            String[] levels = session.getLevels();
+            return new CommandTreeKey(Arrays.asList(packet.getNodes()), packet.getFirstNodeIndex(), session.protocolVersion(), session.locale(),
+                levels == null ? List.of() : Arrays.asList(levels),
+                session.getRegistryCache().registry(JavaRegistries.ENCHANTMENT).keys(),
+                session.getWorldCache().getScoreboard().getTeamNames().keySet());
+        }
+    }
+
+    private record TranslatedCommands(List<CommandData> commandData, List<String> knownCommands, List<String> restrictedCommands,
+                                      Set<String> knownAliases) {
+    }
+
     /**
      * Stores the command description and parameter data for best optimizing the Bedrock commands packet.
      */
@@ -86,5 +86,7 @@ public class JavaFinishConfigurationTranslator extends PacketTranslator<Clientbo
         session.getComponentCache().resolveComponents();
         // This MUST be called after components are resolved. It uses both the collected data-driven registry information and the resolved components
         session.getTrimRecipes().initializeBedrockTrimRecipes(session);
+        // Translated items may have used the previous registries
+        session.getItemDataCache().invalidate();
     }
 }
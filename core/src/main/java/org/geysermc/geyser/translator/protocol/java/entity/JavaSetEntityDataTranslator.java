@@ -56,7 +56,12 @@ public class JavaSetEntityDataTranslator extends PacketTranslator<ClientboundSet
             ((EntityTypeDefinition) definition).translateMetadata(entity, metadata);
         }
 
-        entity.updateBedrockMetadata();
+        if (session.getEntityCache().shouldThrottleMetadata(entity)) {
+            // Far away; sent with the entity's next update
+            session.getEntityCache().markDirty(entity);
+        } else {
+            entity.updateBedrockMetadata();
+        }
 
         // Update the interactive tag, if necessary
         Entity mouseoverEntity = session.getMouseoverEntity();
@@ -86,17 +86,19 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
             passenger.updateBedrockMetadata();
             passenger.setMotion(Vector3f.ZERO);
 
-            session.getGeyser().eventBus().fire(new ServerUpdateEntityPassengersEvent.Mount(session) {
-                @Override
-                public @NonNull GeyserEntity addedPassenger() {
-                    return passenger;
-                }
+            if (session.getGeyser().eventBus().hasSubscribers(ServerUpdateEntityPassengersEvent.Mount.class)) {
+                session.getGeyser().eventBus().fire(new ServerUpdateEntityPassengersEvent.Mount(session) {
+                    @Override
+                    public @NonNull GeyserEntity addedPassenger() {
+                        return passenger;
+                    }
 
-                @Override
-                public @NonNull GeyserEntity vehicle() {
-                    return entity;
-                }
-            });
+                    @Override
+                    public @NonNull GeyserEntity vehicle() {
+                        return entity;
+                    }
+                });
+            }
         }
 
         // Handle passengers that were removed
@@ -138,17 +140,19 @@ public class JavaSetPassengersTranslator extends PacketTranslator<ClientboundSet
                     }
                 }
 
-                session.getGeyser().eventBus().fire(new ServerUpdateEntityPassengersEvent.Dismount(session) {
-                    @Override
-                    public @NonNull GeyserEntity removedPassenger() {
-                        return passenger;
-                    }
-
-                    @Override
-                    public @NonNull GeyserEntity vehicle() {
-                        return entity;
-                    }
-                });
+                if (session.getGeyser().eventBus().hasSubscribers(ServerUpdateEntityPassengersEvent.Dismount.class)) {
+                    session.getGeyser().eventBus().fire(new ServerUpdateEntityPassengersEvent.Dismount(session) {
+                        @Override
+                        public @NonNull GeyserEntity removedPassenger() {
+                            return passenger;
+                        }
+
+                        @Override
+                        public @NonNull GeyserEntity vehicle() {
+                            return entity;
+                        }
+                    });
+                }
             }
         }
 
@@ -78,7 +78,7 @@ public class JavaBlockEntityDataTranslator extends PacketTranslator<ClientboundB
                 updateBlockPacket.setDefinition(blockDefinition);
                 updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NEIGHBORS);
                 updateBlockPacket.getFlags().add(UpdateBlockPacket.Flag.NETWORK);
-                session.sendUpstreamPacket(updateBlockPacket);
+                session.getChunkEncodingQueue().sendBlockUpdate(position, updateBlockPacket);
             }
         }
         if (!hasCustomHeadBlock) {
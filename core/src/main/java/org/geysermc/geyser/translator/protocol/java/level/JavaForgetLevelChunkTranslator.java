@@ -25,31 +25,23 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
-import org.cloudburstmc.math.vector.Vector3i;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundForgetLevelChunkPacket;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Translator(packet = ClientboundForgetLevelChunkPacket.class)
 public class JavaForgetLevelChunkTranslator extends PacketTranslator<ClientboundForgetLevelChunkPacket> {
 
     @Override
     public void translate(GeyserSession session, ClientboundForgetLevelChunkPacket packet) {
         session.getChunkCache().removeChunk(packet.getX(), packet.getZ());
+        session.getChunkEncodingQueue().cancel(packet.getX(), packet.getZ());
+        session.getSubChunkCache().removeColumn(packet.getX(), packet.getZ());
 
-        // Checks if a skull is in an unloaded chunk then removes it
-        List<Vector3i> removedSkulls = new ArrayList<>();
-        for (Vector3i position : session.getSkullCache().getSkulls().keySet()) {
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                removedSkulls.add(position);
-            }
-        }
-        removedSkulls.forEach(session.getSkullCache()::removeSkull);
+        // Removes any skulls in the unloaded chunk
+        session.getSkullCache().removeChunk(packet.getX(), packet.getZ());
 
         ChunkUtils.sendEmptyChunk(session, packet.getX(), packet.getZ(), false);
     }
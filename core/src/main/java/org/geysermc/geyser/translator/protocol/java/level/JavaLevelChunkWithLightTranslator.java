@@ -25,13 +25,16 @@
 
 package org.geysermc.geyser.translator.protocol.java.level;
 
+import com.google.common.base.Suppliers;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntImmutableList;
 import it.unimi.dsi.fastutil.ints.IntList;
 import it.unimi.dsi.fastutil.ints.IntLists;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import org.cloudburstmc.math.vector.Vector3i;
 import org.cloudburstmc.nbt.NBTOutputStream;
@@ -41,17 +44,18 @@ import org.cloudburstmc.protocol.bedrock.data.definitions.BlockDefinition;
 import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
 import org.geysermc.geyser.entity.type.ItemFrameEntity;
 import org.geysermc.geyser.level.BedrockDimension;
-import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
-import org.geysermc.geyser.level.chunk.BlockStorage;
 import org.geysermc.geyser.level.chunk.GeyserChunkSection;
-import org.geysermc.geyser.level.chunk.bitarray.BitArray;
-import org.geysermc.geyser.level.chunk.bitarray.BitArrayVersion;
-import org.geysermc.geyser.level.chunk.bitarray.SingletonBitArray;
 import org.geysermc.geyser.registry.BlockRegistries;
+import org.geysermc.geyser.registry.type.BlockMappings;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
+import org.geysermc.geyser.session.cache.ChunkEncodingQueue;
+import org.geysermc.geyser.session.cache.SubChunkCache;
 import org.geysermc.geyser.session.cache.registry.JavaRegistries;
 import org.geysermc.geyser.translator.level.BiomeTranslator;
+import org.geysermc.geyser.translator.level.ChunkSectionTranslator;
+import org.geysermc.geyser.translator.level.ChunkSectionTranslator.TranslatedSection;
 import org.geysermc.geyser.translator.level.block.entity.BedrockChunkWantsBlockEntityTag;
 import org.geysermc.geyser.translator.level.block.entity.BlockEntityTranslator;
 import org.geysermc.geyser.translator.level.block.entity.SkullBlockEntityTranslator;
@@ -60,27 +64,25 @@ import org.geysermc.geyser.translator.protocol.Translator;
 import org.geysermc.geyser.util.BlockEntityUtils;
 import org.geysermc.geyser.util.ChunkUtils;
 import org.geysermc.mcprotocollib.protocol.codec.MinecraftTypes;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.ChunkSection;
 import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.GlobalPalette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.Palette;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.palette.SingletonPalette;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityInfo;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockEntityType;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundLevelChunkWithLightPacket;
 
 import java.io.IOException;
-import java.util.BitSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Supplier;
 
-import static org.geysermc.geyser.util.ChunkUtils.EMPTY_BLOCK_STORAGE;
 import static org.geysermc.geyser.util.ChunkUtils.EMPTY_CHUNK_SECTION_SIZE;
-import static org.geysermc.geyser.util.ChunkUtils.indexYZXtoXZY;
 
 @Translator(packet = ClientboundLevelChunkWithLightPacket.class)
 public class JavaLevelChunkWithLightTranslator extends PacketTranslator<ClientboundLevelChunkWithLightPacket> {
+    /**
+     * Scratch space for sending a column. Columns are sent on the event loop of each session.
+     */
+    private static final ThreadLocal<ColumnScratch> SCRATCH = ThreadLocal.withInitial(ColumnScratch::new);
 
     @Override
     public void translate(GeyserSession session, ClientboundLevelChunkWithLightPacket packet) {
@@ -91,177 +93,146 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
         // Ensure that, if the player is using lower world heights, the position is not offset
         int yOffset = session.getChunkCache().getChunkMinY();
         int chunkSize = session.getChunkCache().getChunkHeightY();
+        int biomeRegistrySize = session.getRegistryCache().registry(JavaRegistries.BIOME).size();
 
-        DataPalette[] javaChunks = new DataPalette[chunkSize];
-        DataPalette[] javaBiomes = new DataPalette[chunkSize];
+        BedrockDimension bedrockDimension = session.getBedrockDimension();
+        BlockMappings blockMappings = session.getBlockMappings();
 
-        final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
-        final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>(blockEntities.length);
+        ChunkEncodingQueue encodingQueue = session.getChunkEncodingQueue();
+        if (encodingQueue.isEnabled()) {
+            // The sections are read once, on the event loop only if the chunk cache needs them right away
+            Supplier<ChunkSection[]> javaSections = Suppliers.memoize(() -> readColumn(packet.getChunkData(), chunkSize, biomeRegistrySize));
+            ChunkSection[] copiedSections = null;
+            if (!session.getErosionHandler().isActive()) {
+                // The chunk cache is updated right away, so block updates that come after this chunk apply on top of it
+                ChunkCache chunkCache = session.getChunkCache();
+                chunkCache.addToCache(packet.getX(), packet.getZ(), packet.getChunkData(), () -> blockData(javaSections.get()));
+                if (chunkCache.keepsSections()) {
+                    // Block updates change the cached sections while the chunk is being translated
+                    copiedSections = copyBlockData(javaSections.get());
+                }
+            }
 
-        BitSet waterloggedPaletteIds = new BitSet();
-        BitSet bedrockOnlyBlockEntityIds = new BitSet();
+            ChunkSection[] finalCopiedSections = copiedSections;
+            encodingQueue.submit(packet.getX(), packet.getZ(),
+                () -> translateColumn(blockMappings, finalCopiedSections != null ? finalCopiedSections : javaSections.get(), yOffset, bedrockDimension),
+                column -> sendColumn(session, packet, column, yOffset, chunkSize, bedrockDimension));
+            return;
+        }
 
-        BedrockDimension bedrockDimension = session.getBedrockDimension();
-        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
+        ChunkSection[] javaSections = readColumn(packet.getChunkData(), chunkSize, biomeRegistrySize);
+        TranslatedColumn column = translateColumn(blockMappings, javaSections, yOffset, bedrockDimension);
+        if (!session.getErosionHandler().isActive()) {
+            session.getChunkCache().addToCache(packet.getX(), packet.getZ(), packet.getChunkData(), column::javaChunks);
+        }
+        sendColumn(session, packet, column, yOffset, chunkSize, bedrockDimension);
+    }
 
-        int sectionCount;
-        ByteBuf byteBuf = null;
+    private static ChunkSection[] readColumn(byte[] chunkData, int chunkSize, int biomeRegistrySize) {
+        ChunkSection[] javaSections = new ChunkSection[chunkSize];
+        ByteBuf in = Unpooled.wrappedBuffer(chunkData);
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            javaSections[sectionY] = MinecraftTypes.readChunkSection(in, BlockRegistries.BLOCK_STATES.get().size(), biomeRegistrySize);
+        }
+        return javaSections;
+    }
 
+    private static DataPalette[] blockData(ChunkSection[] javaSections) {
+        DataPalette[] javaChunks = new DataPalette[javaSections.length];
+        for (int sectionY = 0; sectionY < javaSections.length; sectionY++) {
+            javaChunks[sectionY] = javaSections[sectionY].getBlockData();
+        }
+        return javaChunks;
+    }
+
+    /**
+     * Copies the block data of the sections. Biomes aren't changed after a chunk is read, so they are kept.
+     */
+    private static ChunkSection[] copyBlockData(ChunkSection[] javaSections) {
+        ChunkSection[] copy = new ChunkSection[javaSections.length];
+        for (int sectionY = 0; sectionY < javaSections.length; sectionY++) {
+            ChunkSection javaSection = javaSections[sectionY];
+            copy[sectionY] = new ChunkSection(javaSection.getBlockCount(), new DataPalette(javaSection.getBlockData()), javaSection.getBiomeData());
+        }
+        return copy;
+    }
+
+    /**
+     * Translates the Java chunk sections that Bedrock will render. This does not depend on any session state, so it
+     * may run off of the session event loop.
+     */
+    private static TranslatedColumn translateColumn(BlockMappings blockMappings, ChunkSection[] javaSections, int yOffset,
+                                                    BedrockDimension bedrockDimension) {
+        int chunkSize = javaSections.length;
+        DataPalette[] javaChunks = new DataPalette[chunkSize];
+        DataPalette[] javaBiomes = new DataPalette[chunkSize];
+        TranslatedSection[] translatedSections = new TranslatedSection[chunkSize];
+
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
         // calculate the difference between the java dimension minY and the bedrock dimension minY as
         // the java chunk sections may need to be placed higher up in the bedrock chunk section array
         int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
-        GeyserChunkSection[] sections = new GeyserChunkSection[chunkSize + sectionCountDiff];
-
-        try {
-            ByteBuf in = Unpooled.wrappedBuffer(packet.getChunkData());
-            for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
-                ChunkSection javaSection = MinecraftTypes.readChunkSection(in, BlockRegistries.BLOCK_STATES.get().size(),
-                    session.getRegistryCache().registry(JavaRegistries.BIOME).size());
-                javaChunks[sectionY] = javaSection.getBlockData();
-                javaBiomes[sectionY] = javaSection.getBiomeData();
-
-                int bedrockSectionY = sectionY + sectionCountDiff;
-                int subChunkIndex = sectionY + yOffset;
-                if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
-                    // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
-                    continue;
-                }
 
-                // No need to encode an empty section...
-                if (javaSection.isBlockCountEmpty()) {
-                    continue;
-                }
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            ChunkSection javaSection = javaSections[sectionY];
+            javaChunks[sectionY] = javaSection.getBlockData();
+            javaBiomes[sectionY] = javaSection.getBiomeData();
 
-                Palette javaPalette = javaSection.getBlockData().getPalette();
-                BitStorage javaData = javaSection.getBlockData().getStorage();
-
-                if (javaPalette instanceof GlobalPalette) {
-                    // As this is the global palette, simply iterate through the whole chunk section once
-                    GeyserChunkSection section = new GeyserChunkSection(session.getBlockMappings().getBedrockAir().getRuntimeId(), subChunkIndex);
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int javaId = javaData.get(yzx);
-                        BlockState state = BlockState.of(javaId);
-                        int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                        int xzy = indexYZXtoXZY(yzx);
-                        section.getBlockStorageArray()[0].setFullBlock(xzy, bedrockId);
-
-                        if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                            section.getBlockStorageArray()[1].setFullBlock(xzy, session.getBlockMappings().getBedrockWater().getRuntimeId());
-                        }
+            int bedrockSectionY = sectionY + sectionCountDiff;
+            if (bedrockSectionY < 0 || maxBedrockSectionY < bedrockSectionY) {
+                // Ignore this chunk section since it goes outside the bounds accepted by the Bedrock client
+                continue;
+            }
 
-                        // Check if block is piston or flower to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                        if (state.block() instanceof BedrockChunkWantsBlockEntityTag blockEntity) {
-                            bedrockBlockEntities.add(blockEntity.createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
-                    sections[bedrockSectionY] = section;
-                    continue;
-                }
+            // No need to encode an empty section...
+            if (javaSection.isBlockCountEmpty()) {
+                continue;
+            }
 
-                if (javaPalette instanceof SingletonPalette) {
-                    // There's only one block here. Very easy!
-                    int javaId = javaPalette.idToState(0);
-                    int bedrockId = session.getBlockMappings().getBedrockBlockId(javaId);
-                    BlockStorage blockStorage = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(bedrockId));
-
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        BlockStorage waterlogged = new BlockStorage(SingletonBitArray.INSTANCE, IntLists.singleton(session.getBlockMappings().getBedrockWater().getRuntimeId()));
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage, waterlogged}, subChunkIndex);
-                    } else {
-                        sections[bedrockSectionY] = new GeyserChunkSection(new BlockStorage[] {blockStorage}, subChunkIndex);
-                    }
-                    // If a chunk contains all of the same piston or flower pot then god help us
-                    continue;
-                }
+            translatedSections[sectionY] = ChunkSectionTranslator.translate(blockMappings, javaSection.getBlockData());
+        }
+        return new TranslatedColumn(javaChunks, javaBiomes, translatedSections);
+    }
 
-                IntList bedrockPalette = new IntArrayList(javaPalette.size());
-                int airPaletteId = -1;
-                waterloggedPaletteIds.clear();
-                bedrockOnlyBlockEntityIds.clear();
+    /**
+     * Adds block entities to a translated chunk and sends it to the client. Must be run on the session event loop.
+     */
+    private static void sendColumn(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, TranslatedColumn column,
+                                   int yOffset, int chunkSize, BedrockDimension bedrockDimension) {
+        DataPalette[] javaChunks = column.javaChunks();
 
-                // Iterate through palette and convert state IDs to Bedrock, doing some additional checks as we go
-                for (int i = 0; i < javaPalette.size(); i++) {
-                    int javaId = javaPalette.idToState(i);
-                    bedrockPalette.add(session.getBlockMappings().getBedrockBlockId(javaId));
+        final BlockEntityInfo[] blockEntities = packet.getBlockEntities();
+        ColumnScratch scratch = SCRATCH.get();
+        final List<NbtMap> bedrockBlockEntities = scratch.bedrockBlockEntities;
 
-                    if (BlockRegistries.WATERLOGGED.get().get(javaId)) {
-                        waterloggedPaletteIds.set(i);
-                    }
+        int maxBedrockSectionY = (bedrockDimension.height() >> 4) - 1;
 
-                    if (javaId == Block.JAVA_AIR_ID) {
-                        airPaletteId = i;
-                    }
+        int sectionCount;
+        ByteBuf byteBuf = null;
 
-                    // Check if block is piston, flower or cauldron to see if we'll need to create additional block entities, as they're only block entities in Bedrock
-                    // TODO this needs a performance check when my head is clearer
-                    BlockState state = BlockState.of(javaId);
-                    if (state.block() instanceof BedrockChunkWantsBlockEntityTag) {
-                        bedrockOnlyBlockEntityIds.set(i);
-                    }
-                }
+        int sectionCountDiff = yOffset - (bedrockDimension.minY() >> 4);
+        int sectionsLength = chunkSize + sectionCountDiff;
+        GeyserChunkSection[] sections = scratch.sections(sectionsLength);
 
-                // Add Bedrock-exclusive block entities
-                // We only if the palette contained any blocks that are Bedrock-exclusive block entities to avoid iterating through the whole block data
-                // for no reason, as most sections will not contain any pistons or flower pots
-                if (!bedrockOnlyBlockEntityIds.isEmpty()) {
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        if (bedrockOnlyBlockEntityIds.get(paletteId)) {
-                            BlockState state = BlockState.of(javaPalette.idToState(paletteId));
-                            bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
-                                    Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
-                                    state
-                            ));
-                        }
-                    }
+        try {
+            for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+                TranslatedSection translatedSection = column.translatedSections()[sectionY];
+                if (translatedSection == null) {
+                    continue;
                 }
 
-                int bedrockDataBits = Integer.SIZE - Integer.numberOfLeadingZeros(javaPalette.size());
-                BitArray bedrockData = BitArrayVersion.forBitsCeil(bedrockDataBits).createArray(BlockStorage.SIZE);
-                BlockStorage layer0 = new BlockStorage(bedrockData, bedrockPalette);
-                BlockStorage[] layers;
-
-                // Convert data array from YZX to XZY coordinate order
-                if (waterloggedPaletteIds.isEmpty()) {
-                    // No blocks are waterlogged, simply convert coordinate order
-                    // This could probably be optimized further...
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-                    }
-
-                    layers = new BlockStorage[]{ layer0 };
-                } else {
-                    // The section contains waterlogged blocks, we need to convert coordinate order AND generate a V1 block storage for
-                    // layer 1 with palette ID 1 indicating water
-                    int[] layer1Data = new int[BlockStorage.SIZE >> 5];
-                    for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
-                        int paletteId = javaData.get(yzx);
-                        int xzy = indexYZXtoXZY(yzx);
-                        bedrockData.set(xzy, paletteId);
-
-                        if (waterloggedPaletteIds.get(paletteId)) {
-                            layer1Data[xzy >> 5] |= 1 << (xzy & 0x1F);
-                        }
-                    }
-                    
-                    // V1 palette
-                    IntList layer1Palette = IntList.of(
-                            session.getBlockMappings().getBedrockAir().getRuntimeId(), // Air - see BlockStorage's constructor for more information
-                            session.getBlockMappings().getBedrockWater().getRuntimeId());
-
-                    layers = new BlockStorage[]{ layer0, new BlockStorage(BitArrayVersion.V1.createArray(BlockStorage.SIZE, layer1Data), layer1Palette) };
+                int subChunkIndex = sectionY + yOffset;
+                sections[sectionY + sectionCountDiff] = translatedSection.toChunkSection(subChunkIndex);
+
+                // Add Bedrock-exclusive block entities, such as pistons and flower pots
+                DataPalette javaBlocks = javaChunks[sectionY];
+                for (int yzx : translatedSection.bedrockBlockEntities()) {
+                    BlockState state = BlockState.of(javaBlocks.get(yzx & 0xF, (yzx >> 8) & 0xF, (yzx >> 4) & 0xF));
+                    bedrockBlockEntities.add(((BedrockChunkWantsBlockEntityTag) state.block()).createTag(session,
+                            Vector3i.from((packet.getX() << 4) + (yzx & 0xF), ((sectionY + yOffset) << 4) + ((yzx >> 8) & 0xF), (packet.getZ() << 4) + ((yzx >> 4) & 0xF)),
+                            state
+                    ));
                 }
-
-                sections[bedrockSectionY] = new GeyserChunkSection(layers, subChunkIndex);
-            }
-
-            if (!session.getErosionHandler().isActive()) {
-                session.getChunkCache().addToCache(packet.getX(), packet.getZ(), javaChunks);
             }
 
             final int chunkBlockX = packet.getX() << 4;
@@ -301,7 +272,7 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
                                 // Custom skull is in a section accepted by Bedrock
                                 GeyserChunkSection bedrockSection = sections[bedrockSectionY];
                                 IntList palette = bedrockSection.getBlockStorageArray()[0].getPalette();
-                                if (palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
+                                if (bedrockSection.isShared() || palette instanceof IntImmutableList || palette instanceof IntLists.Singleton) {
                                     // TODO there has to be a better way to expand the palette .-.
                                     bedrockSection = bedrockSection.copy(subChunkIndex);
                                     sections[bedrockSectionY] = bedrockSection;
@@ -314,12 +285,18 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             }
 
             // Find highest section
-            sectionCount = sections.length - 1;
+            sectionCount = sectionsLength - 1;
             while (sectionCount >= 0 && sections[sectionCount] == null) {
                 sectionCount--;
             }
             sectionCount++;
 
+            if (session.getSubChunkCache().isActive()) {
+                // Item frames are refreshed once the client requests their section
+                sendSubChunkColumn(session, packet, column, sections, sectionCount, bedrockBlockEntities, yOffset, chunkSize, bedrockDimension);
+                return;
+            }
+
             // As of 1.18.30, the amount of biomes read is dependent on how high Bedrock thinks the dimension is
             int biomeCount = bedrockDimension.height() >> 4;
 
@@ -338,33 +315,24 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             size += bedrockBlockEntities.size() * 64; // Conservative estimate of 64 bytes per tile entity
 
             // Allocate output buffer
-            byteBuf = Unpooled.buffer(size);
-            for (int i = 0; i < sectionCount; i++) {
-                GeyserChunkSection section = sections[i];
-                if (section != null) {
-                    section.writeToNetwork(byteBuf);
-                } else {
-                    int subChunkIndex = (i + (bedrockDimension.minY() >> 4));
-                    new GeyserChunkSection(EMPTY_BLOCK_STORAGE, subChunkIndex).writeToNetwork(byteBuf);
+            byteBuf = session.getUpstream().alloc().buffer(size);
+            LongList blobIds = null;
+            if (session.getChunkBlobCache().isActive()) {
+                // Sections and biomes are referenced by hash, and the client will ask for whatever it doesn't have cached
+                blobIds = new LongArrayList(sectionCount + 1);
+                for (int i = 0; i < sectionCount; i++) {
+                    writeSection(byteBuf, sections[i], i, bedrockDimension);
+                    blobIds.add(registerBlob(session, byteBuf));
                 }
-            }
 
-            int dimensionOffset = bedrockDimension.minY() >> 4;
-            for (int i = 0; i < biomeCount; i++) {
-                int biomeYOffset = dimensionOffset + i;
-                if (biomeYOffset < yOffset) {
-                    // Ignore this biome section since it goes below the height of the Java world
-                    byteBuf.writeBytes(ChunkUtils.EMPTY_BIOME_DATA);
-                    continue;
-                }
-                if (biomeYOffset >= (chunkSize + yOffset)) {
-                    // This biome section goes above the height of the Java world
-                    // The byte written here is a header that says to carry on the biome data from the previous chunk
-                    byteBuf.writeByte((127 << 1) | 1);
-                    continue;
+                writeBiomes(session, byteBuf, column.javaBiomes(), biomeCount, yOffset, chunkSize, bedrockDimension);
+                blobIds.add(registerBlob(session, byteBuf));
+            } else {
+                for (int i = 0; i < sectionCount; i++) {
+                    writeSection(byteBuf, sections[i], i, bedrockDimension);
                 }
 
-                BiomeTranslator.toNewBedrockBiome(session, javaBiomes[i + (dimensionOffset - yOffset)]).writeToNetwork(byteBuf);
+                writeBiomes(session, byteBuf, column.javaBiomes(), biomeCount, yOffset, chunkSize, bedrockDimension);
             }
 
             byteBuf.writeByte(0); // Border blocks - Edu edition only
@@ -376,11 +344,16 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             }
             LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
             levelChunkPacket.setSubChunksLength(sectionCount);
-            levelChunkPacket.setCachingEnabled(false);
+            if (blobIds != null) {
+                levelChunkPacket.setCachingEnabled(true);
+                levelChunkPacket.getBlobIds().addAll(blobIds);
+            } else {
+                levelChunkPacket.setCachingEnabled(false);
+            }
             levelChunkPacket.setChunkX(packet.getX());
             levelChunkPacket.setChunkZ(packet.getZ());
             levelChunkPacket.setData(byteBuf.retainedSlice());
-            levelChunkPacket.setDimension(session.getBedrockDimension().bedrockId());
+            levelChunkPacket.setDimension(bedrockDimension.bedrockId());
             session.sendUpstreamPacket(levelChunkPacket);
         } catch (IOException e) {
             session.getGeyser().getLogger().error("IO error while encoding chunk", e);
@@ -389,15 +362,160 @@ public class JavaLevelChunkWithLightTranslator extends PacketTranslator<Clientbo
             if (byteBuf != null) {
                 byteBuf.release();
             }
+            scratch.clear(sectionsLength);
+        }
+
+        for (ItemFrameEntity itemFrame : session.getItemFrameCache().getInChunk(packet.getX(), packet.getZ())) {
+            // Update this item frame so it doesn't get lost in the abyss
+            itemFrame.updateBlock(true);
+        }
+    }
+
+    /**
+     * Sends only the biomes of a chunk, and keeps its sections until the client requests them.
+     */
+    private static void sendSubChunkColumn(GeyserSession session, ClientboundLevelChunkWithLightPacket packet, TranslatedColumn column,
+                                           GeyserChunkSection[] sections, int sectionCount, List<NbtMap> bedrockBlockEntities,
+                                           int yOffset, int chunkSize, BedrockDimension bedrockDimension) throws IOException {
+        // The sections array is scratch space, and the cache patches sections on block updates
+        GeyserChunkSection[] heldSections = new GeyserChunkSection[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            GeyserChunkSection section = sections[i];
+            if (section != null && !section.isEmpty()) {
+                heldSections[i] = section;
+            }
         }
 
-        for (Map.Entry<Vector3i, ItemFrameEntity> entry : session.getItemFrameCache().entrySet()) {
-            Vector3i position = entry.getKey();
-            if ((position.getX() >> 4) == packet.getX() && (position.getZ() >> 4) == packet.getZ()) {
-                // Update this item frame so it doesn't get lost in the abyss
-                //TODO optimize
-                entry.getValue().updateBlock(true);
+        // Block entities are sent along with the section they are in
+        int minSectionY = bedrockDimension.minY() >> 4;
+        byte[][] encodedBlockEntities = new byte[sectionCount][];
+        ByteBuf[] blockEntityBufs = new ByteBuf[sectionCount];
+        try {
+            for (NbtMap blockEntity : bedrockBlockEntities) {
+                int i = (blockEntity.getInt("y") >> 4) - minSectionY;
+                if (i < 0 || i >= sectionCount) {
+                    continue;
+                }
+                if (blockEntityBufs[i] == null) {
+                    blockEntityBufs[i] = session.getUpstream().alloc().buffer();
+                }
+                NbtUtils.createNetworkWriter(new ByteBufOutputStream(blockEntityBufs[i])).writeTag(blockEntity);
+            }
+            for (int i = 0; i < sectionCount; i++) {
+                if (blockEntityBufs[i] != null) {
+                    encodedBlockEntities[i] = ByteBufUtil.getBytes(blockEntityBufs[i]);
+                }
+            }
+        } finally {
+            for (ByteBuf blockEntityBuf : blockEntityBufs) {
+                if (blockEntityBuf != null) {
+                    blockEntityBuf.release();
+                }
             }
         }
+
+        // Only sections that Bedrock shows count towards the height map
+        DataPalette[] shownBlocks = new DataPalette[chunkSize];
+        for (int sectionY = 0; sectionY < chunkSize; sectionY++) {
+            if (column.translatedSections()[sectionY] != null) {
+                shownBlocks[sectionY] = column.javaChunks()[sectionY];
+            }
+        }
+        session.getSubChunkCache().addColumn(packet.getX(), packet.getZ(), heldSections, encodedBlockEntities,
+            SubChunkCache.computeHeights(shownBlocks, yOffset));
+
+        int biomeCount = bedrockDimension.height() >> 4;
+        ByteBuf byteBuf = session.getUpstream().alloc().buffer(ChunkUtils.EMPTY_BIOME_DATA.length * biomeCount + 1);
+        try {
+            LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
+            writeBiomes(session, byteBuf, column.javaBiomes(), biomeCount, yOffset, chunkSize, bedrockDimension);
+            if (session.getChunkBlobCache().isActive()) {
+                levelChunkPacket.setCachingEnabled(true);
+                levelChunkPacket.getBlobIds().add(registerBlob(session, byteBuf));
+            } else {
+                levelChunkPacket.setCachingEnabled(false);
+            }
+            byteBuf.writeByte(0); // Border blocks - Edu edition only
+
+            levelChunkPacket.setRequestSubChunks(true);
+            levelChunkPacket.setSubChunkLimit(sectionCount);
+            levelChunkPacket.setChunkX(packet.getX());
+            levelChunkPacket.setChunkZ(packet.getZ());
+            levelChunkPacket.setData(byteBuf.retainedSlice());
+            levelChunkPacket.setDimension(bedrockDimension.bedrockId());
+            session.sendUpstreamPacket(levelChunkPacket);
+        } finally {
+            byteBuf.release();
+        }
+    }
+
+    private static void writeSection(ByteBuf byteBuf, GeyserChunkSection section, int sectionY, BedrockDimension bedrockDimension) {
+        if (section != null) {
+            section.writeToNetwork(byteBuf);
+        } else {
+            GeyserChunkSection.writeEmptyToNetwork(byteBuf, sectionY + (bedrockDimension.minY() >> 4));
+        }
+    }
+
+    private static void writeBiomes(GeyserSession session, ByteBuf byteBuf, DataPalette[] javaBiomes, int biomeCount, int yOffset, int chunkSize,
+                                    BedrockDimension bedrockDimension) {
+        int dimensionOffset = bedrockDimension.minY() >> 4;
+        for (int i = 0; i < biomeCount; i++) {
+            int biomeYOffset = dimensionOffset + i;
+            if (biomeYOffset < yOffset) {
+                // Ignore this biome section since it goes below the height of the Java world
+                byteBuf.writeBytes(ChunkUtils.EMPTY_BIOME_DATA);
+                continue;
+            }
+            if (biomeYOffset >= (chunkSize + yOffset)) {
+                // This biome section goes above the height of the Java world
+                // The byte written here is a header that says to carry on the biome data from the previous chunk
+                byteBuf.writeByte((127 << 1) | 1);
+                continue;
+            }
+
+            BiomeTranslator.writeBedrockBiome(session, byteBuf, javaBiomes[i + (dimensionOffset - yOffset)]);
+        }
+    }
+
+    /**
+     * Moves everything written to the buffer so far into a blob, and clears the buffer for further writing.
+     */
+    private static long registerBlob(GeyserSession session, ByteBuf byteBuf) {
+        byte[] blob = ByteBufUtil.getBytes(byteBuf);
+        byteBuf.clear();
+        return session.getChunkBlobCache().registerBlob(blob);
+    }
+
+    /**
+     * Buffers that are only used while a column is being sent, so they can be reused for the next column.
+     */
+    private static final class ColumnScratch {
+        private final List<NbtMap> bedrockBlockEntities = new ObjectArrayList<>();
+        private GeyserChunkSection[] sections = new GeyserChunkSection[0];
+
+        /**
+         * @return an array of at least the given length, of which that many entries are null
+         */
+        GeyserChunkSection[] sections(int length) {
+            if (sections.length < length) {
+                sections = new GeyserChunkSection[length];
+            }
+            return sections;
+        }
+
+        /**
+         * Lets go of everything from the last column, so it isn't kept around until the next one.
+         */
+        void clear(int sectionsLength) {
+            Arrays.fill(sections, 0, sectionsLength, null);
+            bedrockBlockEntities.clear();
+        }
+    }
+
+    /**
+     * @param translatedSections the translated sections, indexed by Java section Y. Null if the section is empty or not shown on Bedrock.
+     */
+    private record TranslatedColumn(DataPalette[] javaChunks, DataPalette[] javaBiomes, TranslatedSection[] translatedSections) {
     }
 }
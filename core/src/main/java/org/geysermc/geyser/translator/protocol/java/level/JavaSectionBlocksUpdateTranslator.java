@@ -34,10 +34,10 @@ import org.geysermc.geyser.level.block.Blocks;
 import org.geysermc.geyser.level.block.type.Block;
 import org.geysermc.geyser.level.block.type.BlockState;
 import org.geysermc.geyser.registry.BlockRegistries;
-import org.geysermc.mcprotocollib.protocol.data.game.chunk.DataPalette;
 import org.geysermc.mcprotocollib.protocol.data.game.level.block.BlockChangeEntry;
 import org.geysermc.mcprotocollib.protocol.packet.ingame.clientbound.level.ClientboundSectionBlocksUpdatePacket;
 import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.session.cache.ChunkCache;
 import org.geysermc.geyser.translator.protocol.PacketTranslator;
 import org.geysermc.geyser.translator.protocol.Translator;
 
@@ -51,12 +51,10 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
 
     @Override
     public void translate(GeyserSession session, ClientboundSectionBlocksUpdatePacket packet) {
-        DataPalette palette = null;
-        if (session.getChunkCache().isCache()) {
-            palette = session.getChunkCache().getChunkSection(packet.getChunkX(), packet.getChunkY(), packet.getChunkZ(), true);
-            if (palette == null) {
-                return;
-            }
+        ChunkCache chunkCache = session.getChunkCache();
+        boolean cached = chunkCache.isCache();
+        if (cached && !chunkCache.isSectionLoaded(packet.getChunkX(), packet.getChunkY(), packet.getChunkZ())) {
+            return;
         }
 
         Vector3i clientBreakPos = session.getBlockBreakHandler().getCurrentBlockPos();
@@ -75,18 +73,19 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
                 session.getBlockBreakHandler().setUpdatedServerBlockStateId(entry.getBlock());
             }
 
+            Vector3i position = entry.getPosition();
             int oldBlock;
-            if (palette != null) {
-                oldBlock = palette.get(entry.getPosition().getX() & 0xF, entry.getPosition().getY() & 0xF, entry.getPosition().getZ() & 0xF);
+            if (cached) {
+                oldBlock = chunkCache.getBlockAt(position.getX(), position.getY(), position.getZ());
                 if (entry.getBlock() == oldBlock) {
                     // Skip unchanged blocks which may occur with older versions of Minecraft
                     continue;
                 }
-
-                palette.set(entry.getPosition().getX() & 0xF, entry.getPosition().getY() & 0xF, entry.getPosition().getZ() & 0xF, entry.getBlock());
             } else {
                 oldBlock = -1;
             }
+            // Even without a chunk cache, this keeps Erosion lookups and sub chunk requests up to date
+            chunkCache.updateBlock(position.getX(), position.getY(), position.getZ(), entry.getBlock());
 
             BlockState blockState = BlockState.of(entry.getBlock());
             if (blockState.is(Blocks.AIR)) {
@@ -115,7 +114,7 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
             ));
 
             boolean isWaterlogged = waterlogged.get(entry.getBlock());
-            if (palette == null || waterlogged.get(oldBlock) != isWaterlogged) {
+            if (!cached || waterlogged.get(oldBlock) != isWaterlogged) {
                 updateSubChunkBlocksPacket.getExtraBlocks().add(new org.cloudburstmc.protocol.bedrock.data.BlockChangeEntry(
                     entry.getPosition(),
                     isWaterlogged ? session.getBlockMappings().getBedrockWater() : session.getBlockMappings().getBedrockAir(),
@@ -127,7 +126,8 @@ public class JavaSectionBlocksUpdateTranslator extends PacketTranslator<Clientbo
         }
 
         if (!updateSubChunkBlocksPacket.getStandardBlocks().isEmpty()) {
-            session.sendUpstreamPacket(updateSubChunkBlocksPacket);
+            // Don't let the chunk overwrite these changes if it is still being translated
+            session.getChunkEncodingQueue().sendBlockUpdate(updateSubChunkBlocksPacket.getPosition(), updateSubChunkBlocksPacket);
         }
     }
 }
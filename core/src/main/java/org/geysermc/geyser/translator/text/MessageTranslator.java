@@ -25,6 +25,10 @@
 
 package org.geysermc.geyser.translator.text;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.TranslatableComponent;
@@ -49,6 +53,7 @@ import org.geysermc.geyser.text.ChatColor;
 import org.geysermc.geyser.text.ChatDecoration;
 import org.geysermc.geyser.text.DummyLegacyHoverEventSerializer;
 import org.geysermc.geyser.text.GeyserLocale;
+import org.geysermc.geyser.text.MinecraftLocale;
 import org.geysermc.geyser.text.MinecraftTranslationRegistry;
 import org.geysermc.mcprotocollib.protocol.data.DefaultComponentSerializer;
 import org.geysermc.mcprotocollib.protocol.data.game.Holder;
@@ -78,9 +83,18 @@ public class MessageTranslator {
 
     // Reset character
     private static final String RESET = BASE + "r";
-    private static final Pattern RESET_PATTERN = Pattern.compile("(" + RESET + "){2,}");
     private static final Pattern LOCALIZATION_PATTERN = Pattern.compile("%(?:(\\d+)\\$)?s");
 
+    /**
+     * The maximum amount of converted messages to remember. Set to 0 to disable.
+     */
+    private static final int MAX_CACHE_SIZE = Integer.getInteger("Geyser.MessageCacheSize", 2048);
+    // Many messages are sent over and over again, such as the frames of animated scoreboards or the lore of shop items
+    private static final @Nullable Cache<ConvertedMessage, String> CACHE = MAX_CACHE_SIZE > 0 ? CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHE_SIZE)
+        .recordStats()
+        .build() : null;
+
     static {
         GSON_SERIALIZER = DefaultComponentSerializer.get()
                 .toBuilder()
@@ -205,83 +219,79 @@ public class MessageTranslator {
     }
 
     private static String convertMessage(Component message, String locale, boolean addLeadingResetFormat) {
+        // Translations aren't final until the locale has loaded
+        if (CACHE == null || !MinecraftLocale.isLocaleLoaded(locale)) {
+            return convertMessageUncached(message, locale, addLeadingResetFormat);
+        }
+
+        ConvertedMessage key = new ConvertedMessage(message, locale, addLeadingResetFormat);
+        String converted = CACHE.getIfPresent(key);
+        if (converted == null) {
+            converted = convertMessageUncached(message, locale, addLeadingResetFormat);
+            if (!converted.isEmpty()) {
+                CACHE.put(key, converted);
+            }
+        }
+        return converted;
+    }
+
+    private static String convertMessageUncached(Component message, String locale, boolean addLeadingResetFormat) {
         try {
             // Translate any components that require it
             message = RENDERER.render(message, locale);
 
             String legacy = BEDROCK_SERIALIZER.serialize(message);
+            return toBedrockLegacy(legacy, addLeadingResetFormat);
+        } catch (Exception e) {
+            GeyserImpl.getInstance().getLogger().debug(GSON_SERIALIZER.serialize(message));
+            GeyserImpl.getInstance().getLogger().error("Failed to parse message", e);
 
-            StringBuilder finalLegacy = new StringBuilder();
-            char[] legacyChars = legacy.toCharArray();
-            boolean lastFormatReset = !addLeadingResetFormat;
-            for (int i = 0; i < legacyChars.length; i++) {
-                char legacyChar = legacyChars[i];
-                if (legacyChar != ChatColor.ESCAPE || i >= legacyChars.length - 1) {
-                    // No special formatting for Bedrock needed
-                    // Or, we're at the end of the string
-                    finalLegacy.append(legacyChar);
-                    lastFormatReset = false;
-                    continue;
-                }
+            return "";
+        }
+    }
 
-                char next = legacyChars[++i];
-                if (BEDROCK_COLORS.indexOf(next) != -1) {
-                    // Unlike Java Edition, the ChatFormatting is not reset when a ChatColor is added
-                    if (!lastFormatReset) {
-                        finalLegacy.append(RESET);
-                    }
-                }
-                finalLegacy.append(BASE).append(next);
-                lastFormatReset = next == 'r';
+    /**
+     * Adapts a legacy formatted message to how Bedrock reads formatting codes: colors don't reset other formatting,
+     * and newlines reset colors.
+     */
+    @VisibleForTesting
+    public static String toBedrockLegacy(String legacy, boolean addLeadingResetFormat) {
+        // Bedrock is dumb and resets the color after a newline, so only then do we need to remember the colors
+        BedrockLegacyWriter writer = new BedrockLegacyWriter(legacy.length(), legacy.indexOf('\n') != -1);
+        boolean lastFormatReset = !addLeadingResetFormat;
+        for (int i = 0; i < legacy.length(); i++) {
+            char legacyChar = legacy.charAt(i);
+            if (legacyChar != ChatColor.ESCAPE || i >= legacy.length() - 1) {
+                // No special formatting for Bedrock needed
+                // Or, we're at the end of the string
+                writer.append(legacyChar);
+                lastFormatReset = false;
+                continue;
             }
 
-            String finalLegacyString = finalLegacy.toString();
-
-            // Remove duplicate resets and trailing resets
-            finalLegacyString = RESET_PATTERN.matcher(finalLegacyString).replaceAll(RESET);
-            if (finalLegacyString.endsWith(RESET)) {
-                finalLegacyString = finalLegacyString.substring(0, finalLegacyString.length() - 2);
+            char next = legacy.charAt(++i);
+            if (BEDROCK_COLORS.indexOf(next) != -1) {
+                // Unlike Java Edition, the ChatFormatting is not reset when a ChatColor is added
+                if (!lastFormatReset) {
+                    writer.appendFormat('r');
+                }
             }
+            writer.appendFormat(next);
+            lastFormatReset = next == 'r';
+        }
 
-            // If the message contains \n then go through and re-set the color after each by caching the last color
-            // Bedrock is dumb and resets the color after a newline
-            if (finalLegacyString.contains("\n")) {
-                StringBuilder output = new StringBuilder();
-
-                StringBuilder lastColors = new StringBuilder();
-                for (int i = 0; i < finalLegacyString.length(); i++) {
-                    char c = finalLegacyString.charAt(i);
-
-                    output.append(c);
-
-                    if (c == ChatColor.ESCAPE) {
-                        // If the string ends with a formatting character, remove and skip
-                        if (i >= finalLegacyString.length() - 1) {
-                            output = output.deleteCharAt(output.length() - 1);
-                            continue;
-                        }
-
-                        char newColor = finalLegacyString.charAt(i + 1);
-                        if (newColor == 'r') {
-                            lastColors = new StringBuilder();
-                        } else {
-                            lastColors.append(ChatColor.ESCAPE).append(newColor);
-                        }
-                    } else if (c == '\n' && !lastColors.isEmpty()) {
-                        output.append(lastColors);
-                    }
-                }
+        return writer.finish();
+    }
 
-                return output.toString();
-            } else {
-                return finalLegacyString;
-            }
-        } catch (Exception e) {
-            GeyserImpl.getInstance().getLogger().debug(GSON_SERIALIZER.serialize(message));
-            GeyserImpl.getInstance().getLogger().error("Failed to parse message", e);
+    /**
+     * @return the hits and misses of converted messages, or null if they aren't cached
+     */
+    public static @Nullable CacheStats cacheStats() {
+        return CACHE == null ? null : CACHE.stats();
+    }
 
-            return "";
-        }
+    public static long cacheSize() {
+        return CACHE == null ? 0 : CACHE.size();
     }
 
     public static String convertJsonMessage(String message, String locale) {
@@ -629,4 +639,69 @@ public class MessageTranslator {
     public static void init() {
         // no-op
     }
+
+    private record ConvertedMessage(Component message, String locale, boolean addLeadingResetFormat) {
+    }
+
+    /**
+     * Writes a legacy string for Bedrock in one go: duplicate and trailing resets are left out, and if the message has
+     * newlines, the colors before each newline are written again after it.
+     */
+    private static final class BedrockLegacyWriter {
+        private final StringBuilder output;
+        private final @Nullable StringBuilder lastColors;
+        // The last characters of the message, not counting restored colors
+        private char last;
+        private char secondLast;
+        private char thirdLast;
+
+        BedrockLegacyWriter(int length, boolean newlines) {
+            this.output = new StringBuilder(length + 16);
+            this.lastColors = newlines ? new StringBuilder() : null;
+        }
+
+        void append(char c) {
+            output.append(c);
+            if (lastColors != null) {
+                if (last == ChatColor.ESCAPE) {
+                    if (c == 'r') {
+                        lastColors.setLength(0);
+                    } else {
+                        lastColors.append(ChatColor.ESCAPE).append(c);
+                    }
+                }
+                if (c == '\n') {
+                    output.append(lastColors);
+                }
+            }
+            thirdLast = secondLast;
+            secondLast = last;
+            last = c;
+        }
+
+        void appendFormat(char code) {
+            if (code == 'r' && endsWithReset()) {
+                return;
+            }
+            append(ChatColor.ESCAPE);
+            append(code);
+        }
+
+        private boolean endsWithReset() {
+            return secondLast == ChatColor.ESCAPE && last == 'r';
+        }
+
+        String finish() {
+            char end = last;
+            if (endsWithReset()) {
+                output.setLength(output.length() - 2);
+                end = thirdLast;
+            }
+            if (lastColors != null && end == ChatColor.ESCAPE) {
+                // A formatting character with nothing to format
+                output.setLength(output.length() - 1);
+            }
+            return output.toString();
+        }
+    }
 }
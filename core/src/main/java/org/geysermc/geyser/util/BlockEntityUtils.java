@@ -72,10 +72,13 @@ public class BlockEntityUtils {
          return Registries.BLOCK_ENTITIES.get(type);
     }
 
+    /**
+     * Sends block entity data to the client. If the chunk is still being translated, it is sent after the chunk.
+     */
     public static void updateBlockEntity(GeyserSession session, @NonNull NbtMap blockEntity, Vector3i position) {
         BlockEntityDataPacket blockEntityPacket = new BlockEntityDataPacket();
         blockEntityPacket.setBlockPosition(position);
         blockEntityPacket.setData(blockEntity);
-        session.sendUpstreamPacket(blockEntityPacket);
+        session.getChunkEncodingQueue().sendBlockUpdate(position, blockEntityPacket);
     }
 }
@@ -144,6 +144,12 @@ public class ChunkUtils {
      * Updates a block, but client-side only.
      */
     public static void updateBlockClientSide(GeyserSession session, BlockState blockState, Vector3i position) {
+        // If the chunk is still being translated, update the block once it has been sent so the update isn't lost
+        if (session.getChunkEncodingQueue().deferIfPending(position.getX() >> 4, position.getZ() >> 4,
+            () -> updateBlockClientSide(session, blockState, position))) {
+            return;
+        }
+
         // Checks for item frames so they aren't tripped up and removed
         ItemFrameEntity itemFrameEntity = ItemFrameEntity.getItemFrameEntity(session, position);
         if (itemFrameEntity != null) {
@@ -179,6 +185,8 @@ public class ChunkUtils {
             return data;
         });
 
+        session.getSubChunkCache().removeColumn(chunkX, chunkZ);
+
         LevelChunkPacket data = new LevelChunkPacket();
         data.setDimension(bedrockDimension.bedrockId());
         data.setChunkX(chunkX);
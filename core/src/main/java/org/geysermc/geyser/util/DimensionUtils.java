@@ -57,11 +57,13 @@ public class DimensionUtils {
         Entity player = session.getPlayerEntity();
 
         session.getChunkCache().clear();
+        session.getChunkEncodingQueue().clear();
         session.getEntityCache().removeAllEntities();
         session.getItemFrameCache().clear();
         session.getLodestoneCache().clear();
         session.getPistonCache().clear();
         session.getSkullCache().clear();
+        session.getSubChunkCache().clear();
         session.getBlockBreakHandler().reset();
 
         changeDimension(session, bedrockDimension);
@@ -26,6 +26,7 @@
 package org.geysermc.geyser.util;
 
 import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.cloudburstmc.protocol.bedrock.data.auth.AuthPayload;
 import org.cloudburstmc.protocol.bedrock.data.auth.AuthType;
 import org.cloudburstmc.protocol.bedrock.data.auth.CertificateChainPayload;
@@ -44,6 +45,7 @@ import org.geysermc.geyser.GeyserImpl;
 import org.geysermc.geyser.session.GeyserSession;
 import org.geysermc.geyser.session.auth.AuthData;
 import org.geysermc.geyser.session.auth.BedrockClientData;
+import org.geysermc.geyser.session.auth.LoginCryptoExecutor;
 import org.geysermc.geyser.text.ChatColor;
 import org.geysermc.geyser.text.GeyserLocale;
 
@@ -51,26 +53,115 @@ import javax.crypto.SecretKey;
 import java.net.InetSocketAddress;
 import java.security.KeyPair;
 import java.security.PublicKey;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.BiConsumer;
 
 public class LoginEncryptionUtils {
     private static boolean HAS_SENT_ENCRYPTION_MESSAGE = false;
 
     public static void encryptPlayerConnection(GeyserSession session, LoginPacket loginPacket) {
-        encryptConnectionWithCert(session, loginPacket.getAuthPayload(), loginPacket.getClientJwt());
-    }
+        AuthPayload authPayload = loginPacket.getAuthPayload();
+        if (isGuest(session, authPayload)) {
+            return;
+        }
 
-    private static void encryptConnectionWithCert(GeyserSession session, AuthPayload authPayload, String jwt) {
+        long start = System.nanoTime();
+        VerifiedLogin login;
         try {
-            GeyserImpl geyser = session.getGeyser();
+            login = verifyLogin(authPayload, loginPacket.getClientJwt(), session.getGeyser().config().advanced().bedrock().validateBedrockLogin());
+        } catch (Exception ex) {
+            session.disconnect("disconnectionScreen.internalError.cantConnect");
+            throw new RuntimeException("Unable to complete login", ex);
+        }
+        LoginCryptoExecutor.recordLatency(System.nanoTime() - start);
 
-            // Regardless of auth type, we don't support guest type accounts used for splitscreen
-            if (authPayload.getAuthType() == AuthType.GUEST) {
-                session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
-                return;
+        completeLogin(session, login);
+    }
+
+    /**
+     * Verifies the login on the {@link LoginCryptoExecutor}, and then completes it on the network thread of the session.
+     *
+     * @param then called on the network thread once the login has been completed or rejected
+     */
+    public static void encryptPlayerConnectionAsync(GeyserSession session, LoginPacket loginPacket, Runnable then) {
+        AuthPayload authPayload = loginPacket.getAuthPayload();
+        if (isGuest(session, authPayload)) {
+            then.run();
+            return;
+        }
+
+        String jwt = loginPacket.getClientJwt();
+        boolean validate = session.getGeyser().config().advanced().bedrock().validateBedrockLogin();
+        Executor networkThread = session.getUpstream().getSession().getPeer().getChannel().eventLoop();
+        LoginCryptoExecutor.submit(() -> verifyLogin(authPayload, jwt, validate)).whenCompleteAsync((login, throwable) -> {
+            if (throwable instanceof RejectedExecutionException) {
+                session.getGeyser().getLogger().debug("Too many pending logins; rejecting " + session.getUpstream().getAddress());
+                session.disconnect("disconnectionScreen.serverFull");
+            } else if (throwable != null) {
+                session.disconnect("disconnectionScreen.internalError.cantConnect");
+                session.getGeyser().getLogger().error("Unable to complete login", throwable);
+            } else if (!session.isClosed()) {
+                try {
+                    completeLogin(session, login);
+                } catch (RuntimeException e) {
+                    session.getGeyser().getLogger().error(e.getMessage(), e.getCause());
+                }
             }
+            then.run();
+        }, networkThread);
+    }
+
+    /**
+     * Regardless of auth type, we don't support guest type accounts used for splitscreen
+     */
+    private static boolean isGuest(GeyserSession session, AuthPayload authPayload) {
+        if (authPayload.getAuthType() == AuthType.GUEST) {
+            session.disconnect(GeyserLocale.getLocaleStringLog("geyser.network.remote.invalid_xbox_account"));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Does all the expensive work of a login without touching the session, so this can be called from any thread.
+     */
+    private static VerifiedLogin verifyLogin(AuthPayload authPayload, String jwt, boolean validate) throws Exception {
+        ChainValidationResult result = EncryptionUtils.validatePayload(authPayload);
+        if (!result.signed() && validate) {
+            return new VerifiedLogin(authPayload, result, null, null, null, null);
+        }
+
+        PublicKey identityPublicKey = result.identityClaims().parsedIdentityPublicKey();
+
+        byte[] clientDataPayload = EncryptionUtils.verifyClientData(jwt, identityPublicKey);
+        if (clientDataPayload == null) {
+            throw new IllegalStateException("Client data isn't signed by the given chain data");
+        }
+
+        BedrockClientData data = JsonUtils.fromJson(clientDataPayload, BedrockClientData.class);
+        data.setOriginalString(jwt);
+
+        try {
+            KeyPair serverKeyPair = LoginCryptoExecutor.takeKeyPair();
+            byte[] token = EncryptionUtils.generateRandomToken();
+            String handshakeJwt = EncryptionUtils.createHandshakeJwt(serverKeyPair, token);
+            SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), identityPublicKey, token);
+            return new VerifiedLogin(authPayload, result, data, handshakeJwt, encryptionKey, null);
+        } catch (Throwable e) {
+            // An error can be thrown on older Java 8 versions about an invalid key
+            return new VerifiedLogin(authPayload, result, data, null, null, e);
+        }
+    }
 
-            ChainValidationResult result = EncryptionUtils.validatePayload(authPayload);
+    /**
+     * Applies a verified login to the session and starts encryption. Must be called on the network thread.
+     */
+    private static void completeLogin(GeyserSession session, VerifiedLogin login) {
+        try {
+            GeyserImpl geyser = session.getGeyser();
+            AuthPayload authPayload = login.authPayload();
+            ChainValidationResult result = login.result();
 
             geyser.getLogger().debug(String.format("Is player data signed? %s", result.signed()));
             if (!result.signed() && session.getGeyser().config().advanced().bedrock().validateBedrockLogin()) {
@@ -90,15 +181,7 @@ public class LoginEncryptionUtils {
                 GeyserImpl.getInstance().getLogger().warning("Unknown auth payload! Skin uploading will not work");
             }
 
-            PublicKey identityPublicKey = result.identityClaims().parsedIdentityPublicKey();
-
-            byte[] clientDataPayload = EncryptionUtils.verifyClientData(jwt, identityPublicKey);
-            if (clientDataPayload == null) {
-                throw new IllegalStateException("Client data isn't signed by the given chain data");
-            }
-
-            BedrockClientData data = JsonUtils.fromJson(clientDataPayload, BedrockClientData.class);
-            data.setOriginalString(jwt);
+            BedrockClientData data = login.clientData();
             session.setClientData(data);
 
             IdentityData extraData = result.identityClaims().extraData;
@@ -116,34 +199,26 @@ public class LoginEncryptionUtils {
             }
             session.setAuthData(new AuthData(extraData.displayName, extraData.identity, xuid, issuedAt, extraData.minecraftId));
 
-            try {
-                startEncryptionHandshake(session, identityPublicKey);
-            } catch (Throwable e) {
-                // An error can be thrown on older Java 8 versions about an invalid key
+            if (login.handshakeError() != null) {
                 if (geyser.config().debugMode()) {
-                    e.printStackTrace();
+                    login.handshakeError().printStackTrace();
                 }
 
                 sendEncryptionFailedMessage(geyser);
+                return;
             }
+
+            ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
+            packet.setJwt(login.handshakeJwt());
+            session.sendUpstreamPacketImmediately(packet);
+
+            session.getUpstream().getSession().enableEncryption(login.encryptionKey());
         } catch (Exception ex) {
             session.disconnect("disconnectionScreen.internalError.cantConnect");
             throw new RuntimeException("Unable to complete login", ex);
         }
     }
 
-    private static void startEncryptionHandshake(GeyserSession session, PublicKey key) throws Exception {
-        KeyPair serverKeyPair = EncryptionUtils.createKeyPair();
-        byte[] token = EncryptionUtils.generateRandomToken();
-
-        ServerToClientHandshakePacket packet = new ServerToClientHandshakePacket();
-        packet.setJwt(EncryptionUtils.createHandshakeJwt(serverKeyPair, token));
-        session.sendUpstreamPacketImmediately(packet);
-
-        SecretKey encryptionKey = EncryptionUtils.getSecretKey(serverKeyPair.getPrivate(), key, token);
-        session.getUpstream().getSession().enableEncryption(encryptionKey);
-    }
-
     private static void sendEncryptionFailedMessage(GeyserImpl geyser) {
         if (!HAS_SENT_ENCRYPTION_MESSAGE) {
             geyser.getLogger().warning(GeyserLocale.getLocaleStringLog("geyser.network.encryption.line_1"));
@@ -286,4 +361,12 @@ public class LoginEncryptionUtils {
         }
         return newValue.toString();
     }
+
+    /**
+     * The outcome of {@link #verifyLogin(AuthPayload, String, boolean)}. Client data and the handshake are null if the
+     * chain isn't signed and has to be; the handshake is null if it couldn't be prepared.
+     */
+    private record VerifiedLogin(AuthPayload authPayload, ChainValidationResult result, @Nullable BedrockClientData clientData,
+                                 @Nullable String handshakeJwt, @Nullable SecretKey encryptionKey, @Nullable Throwable handshakeError) {
+    }
 }
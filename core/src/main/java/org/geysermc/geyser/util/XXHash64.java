@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * A plain Java implementation of the 64-bit xxHash algorithm.
+ * <p>
+ * Bedrock identifies client cache blobs by their xxHash64 (seed 0), so the hashes produced here must match the
+ * reference implementation exactly.
+ */
+@UtilityClass
+public class XXHash64 {
+    private static final long PRIME64_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME64_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME64_3 = 0x165667B19E3779F9L;
+    private static final long PRIME64_4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME64_5 = 0x27D4EB2F165667C5L;
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    public static long hash(byte[] data) {
+        return hash(data, 0, data.length, 0L);
+    }
+
+    public static long hash(byte[] data, int offset, int length, long seed) {
+        int end = offset + length;
+        int index = offset;
+        long hash;
+
+        if (length >= 32) {
+            long v1 = seed + PRIME64_1 + PRIME64_2;
+            long v2 = seed + PRIME64_2;
+            long v3 = seed;
+            long v4 = seed - PRIME64_1;
+
+            int limit = end - 32;
+            do {
+                v1 = round(v1, (long) LONG_LE.get(data, index));
+                v2 = round(v2, (long) LONG_LE.get(data, index + 8));
+                v3 = round(v3, (long) LONG_LE.get(data, index + 16));
+                v4 = round(v4, (long) LONG_LE.get(data, index + 24));
+                index += 32;
+            } while (index <= limit);
+
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = seed + PRIME64_5;
+        }
+
+        hash += length;
+
+        while (index + 8 <= end) {
+            hash ^= round(0, (long) LONG_LE.get(data, index));
+            hash = Long.rotateLeft(hash, 27) * PRIME64_1 + PRIME64_4;
+            index += 8;
+        }
+
+        if (index + 4 <= end) {
+            hash ^= (((int) INT_LE.get(data, index)) & 0xFFFFFFFFL) * PRIME64_1;
+            hash = Long.rotateLeft(hash, 23) * PRIME64_2 + PRIME64_3;
+            index += 4;
+        }
+
+        while (index < end) {
+            hash ^= (data[index] & 0xFF) * PRIME64_5;
+            hash = Long.rotateLeft(hash, 11) * PRIME64_1;
+            index++;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= PRIME64_2;
+        hash ^= hash >>> 29;
+        hash *= PRIME64_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    private static long round(long accumulator, long input) {
+        accumulator += input * PRIME64_2;
+        accumulator = Long.rotateLeft(accumulator, 31);
+        return accumulator * PRIME64_1;
+    }
+
+    private static long mergeRound(long accumulator, long value) {
+        accumulator ^= round(0, value);
+        return accumulator * PRIME64_1 + PRIME64_4;
+    }
+}
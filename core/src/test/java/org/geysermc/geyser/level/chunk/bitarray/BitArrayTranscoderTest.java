@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.level.chunk.bitarray;
+
+import org.geysermc.geyser.level.chunk.BlockStorage;
+import org.geysermc.geyser.util.ChunkUtils;
+import org.geysermc.mcprotocollib.protocol.data.game.chunk.BitStorage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BitArrayTranscoderTest {
+
+    @Test
+    public void testUnpack() {
+        Random random = new Random(0);
+        for (int bits = 1; bits <= 15; bits++) {
+            BitStorage storage = randomStorage(random, bits);
+
+            int[] unpacked = new int[BlockStorage.SIZE];
+            BitArrayTranscoder.unpack(storage, unpacked);
+            for (int i = 0; i < BlockStorage.SIZE; i++) {
+                Assertions.assertEquals(storage.get(i), unpacked[i], "Wrong entry at index " + i + " for " + bits + " bits");
+            }
+        }
+    }
+
+    @Test
+    public void testPackXZY() {
+        Random random = new Random(0);
+        for (BitArrayVersion version : BitArrayVersion.values()) {
+            if (version == BitArrayVersion.V0) {
+                continue;
+            }
+            int bits = Math.min(version.bits, 15);
+            int[] values = new int[BlockStorage.SIZE];
+            BitArrayTranscoder.unpack(randomStorage(random, bits), values);
+
+            // Compare against setting each entry through its index
+            BitArray expected = version.createArray(BlockStorage.SIZE);
+            for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+                expected.set(ChunkUtils.indexYZXtoXZY(yzx), values[yzx]);
+            }
+
+            BitArray packed = BitArrayTranscoder.packXZY(values, version);
+            Assertions.assertEquals(version, packed.getVersion());
+            Assertions.assertArrayEquals(expected.getWords(), packed.getWords(), "Wrong words for " + version);
+        }
+    }
+
+    @Test
+    public void testPackFlagsXZY() {
+        Random random = new Random(0);
+        int[] values = new int[BlockStorage.SIZE];
+        BitArrayTranscoder.unpack(randomStorage(random, 4), values);
+        boolean[] flagged = new boolean[16];
+        for (int i = 0; i < flagged.length; i += 3) {
+            flagged[i] = true;
+        }
+
+        BitArray expected = BitArrayVersion.V1.createArray(BlockStorage.SIZE);
+        for (int yzx = 0; yzx < BlockStorage.SIZE; yzx++) {
+            if (flagged[values[yzx]]) {
+                expected.set(ChunkUtils.indexYZXtoXZY(yzx), 1);
+            }
+        }
+
+        Assertions.assertArrayEquals(expected.getWords(), BitArrayTranscoder.packFlagsXZY(values, flagged).getWords());
+    }
+
+    private static BitStorage randomStorage(Random random, int bits) {
+        BitStorage storage = new BitStorage(bits, BlockStorage.SIZE);
+        for (int i = 0; i < BlockStorage.SIZE; i++) {
+            storage.set(i, random.nextInt(1 << bits));
+        }
+        return storage;
+    }
+}
@@ -96,6 +96,23 @@ public class MessageTranslatorTest {
         Assertions.assertEquals("§r§d[Test]", MessageTranslator.convertMessageLenient("§r§r§d[Test]§r"), "Duplicate and redundant reset removal");
     }
 
+    @Test
+    public void toBedrockLegacy() {
+        Assertions.assertEquals("§r§ehi§r§ayo", MessageTranslator.toBedrockLegacy("§r§r§ehi§r§r§r§ayo", true), "Duplicate resets are not collapsed");
+        Assertions.assertEquals("§r§ehi", MessageTranslator.toBedrockLegacy("§ehi§r", true), "Trailing reset is not removed");
+        Assertions.assertEquals("hi", MessageTranslator.toBedrockLegacy("hi§r§r", true), "Trailing duplicate resets are not removed");
+        Assertions.assertEquals("§r§ehi§", MessageTranslator.toBedrockLegacy("§ehi§", true), "Trailing formatting character without newlines is not kept");
+        Assertions.assertEquals("a\n§r§eb", MessageTranslator.toBedrockLegacy("a\n§eb§", true), "Trailing formatting character with newlines is not removed");
+        Assertions.assertEquals("§r§e§lhello\n§e§lworld\n§e§lagain", MessageTranslator.toBedrockLegacy("§e§lhello\nworld\nagain", true), "Formatting is not restored after newlines");
+        Assertions.assertEquals("§r§ehello\n§e§rworld", MessageTranslator.toBedrockLegacy("§ehello\n§rworld", true), "Reset after a newline is not handled properly");
+        Assertions.assertEquals("§r§ehello\n§e§r§aworld", MessageTranslator.toBedrockLegacy("§ehello\n§r§aworld", true), "Color after a reset after a newline is not handled properly");
+
+        Assertions.assertEquals("§r§ehi", MessageTranslator.toBedrockLegacy("§ehi", true), "Leading reset is not added");
+        Assertions.assertEquals("§ehi", MessageTranslator.toBedrockLegacy("§ehi", false), "Leading reset is added when it shouldn't be");
+        Assertions.assertEquals("§ehello\n§eworld", MessageTranslator.toBedrockLegacy("§ehello\nworld", false), "Color is not restored after a newline without a leading reset");
+        Assertions.assertEquals("§r§ehi§r§ayo", MessageTranslator.toBedrockLegacy("§r§r§ehi§r§r§r§ayo", false), "Duplicate resets are not collapsed without a leading reset");
+    }
+
     @Test
     public void convertIncomingToPlainText() {
         Assertions.assertEquals("Many colors here", MessageTranslator.convertToPlainTextLenient("{\"extra\":[{\"color\":\"red\",\"text\":\"M\"},{\"color\":\"gold\",\"text\":\"a\"},{\"color\":\"yellow\",\"text\":\"n\"},{\"color\":\"green\",\"text\":\"y \"},{\"color\":\"aqua\",\"text\":\"c\"},{\"color\":\"dark_purple\",\"text\":\"o\"},{\"color\":\"red\",\"text\":\"l\"},{\"color\":\"gold\",\"text\":\"o\"},{\"color\":\"yellow\",\"text\":\"r\"},{\"color\":\"green\",\"text\":\"s \"},{\"color\":\"aqua\",\"text\":\"h\"},{\"color\":\"dark_purple\",\"text\":\"e\"},{\"color\":\"red\",\"text\":\"r\"},{\"color\":\"gold\",\"text\":\"e\"}],\"text\":\"\"}", "en_US"), "JSON message is not handled properly");
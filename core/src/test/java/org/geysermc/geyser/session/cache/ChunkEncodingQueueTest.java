@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3i;
+import org.cloudburstmc.nbt.NbtMap;
+import org.cloudburstmc.protocol.bedrock.packet.BedrockPacket;
+import org.cloudburstmc.protocol.bedrock.packet.BlockEntityDataPacket;
+import org.cloudburstmc.protocol.bedrock.packet.LevelChunkPacket;
+import org.cloudburstmc.protocol.bedrock.packet.UpdateBlockPacket;
+import org.geysermc.geyser.session.GeyserSession;
+import org.geysermc.geyser.util.BlockEntityUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkEncodingQueueTest {
+    private static final Vector3i CHEST_POSITION = Vector3i.from(20, 64, -5);
+    private static final NbtMap CHEST_TAG = NbtMap.builder()
+        .putString("id", "Chest")
+        .putInt("x", CHEST_POSITION.getX())
+        .putInt("y", CHEST_POSITION.getY())
+        .putInt("z", CHEST_POSITION.getZ())
+        .build();
+
+    private final List<Runnable> translations = new ArrayList<>();
+    private final List<BedrockPacket> sentPackets = new ArrayList<>();
+    private GeyserSession session;
+    private ChunkEncodingQueue queue;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(GeyserSession.class);
+        // Translations are run by the test, and the event loop runs tasks right away
+        queue = new ChunkEncodingQueue(session, translations::add);
+        when(session.getChunkEncodingQueue()).thenReturn(queue);
+        doAnswer(invocation -> sentPackets.add(invocation.getArgument(0))).when(session).sendUpstreamPacket(any());
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(session).executeInEventLoop(any());
+    }
+
+    @Test
+    public void testChestUpdateWaitsForChunk() {
+        LevelChunkPacket chunkPacket = new LevelChunkPacket();
+        queue.submit(CHEST_POSITION.getX() >> 4, CHEST_POSITION.getZ() >> 4, () -> chunkPacket, session::sendUpstreamPacket);
+
+        // A chest is placed, and then its block entity data arrives, while the chunk is still being translated
+        UpdateBlockPacket blockPacket = new UpdateBlockPacket();
+        blockPacket.setBlockPosition(CHEST_POSITION);
+        queue.sendBlockUpdate(CHEST_POSITION, blockPacket);
+        BlockEntityUtils.updateBlockEntity(session, CHEST_TAG, CHEST_POSITION);
+
+        // Other chunks are not held back
+        UpdateBlockPacket otherPacket = new UpdateBlockPacket();
+        queue.sendBlockUpdate(CHEST_POSITION.add(16, 0, 0), otherPacket);
+        Assertions.assertEquals(List.of(otherPacket), sentPackets);
+
+        runTranslations();
+        Assertions.assertEquals(4, sentPackets.size());
+        Assertions.assertSame(chunkPacket, sentPackets.get(1));
+        Assertions.assertSame(blockPacket, sentPackets.get(2));
+        BlockEntityDataPacket blockEntityPacket = Assertions.assertInstanceOf(BlockEntityDataPacket.class, sentPackets.get(3));
+        Assertions.assertEquals(CHEST_TAG, blockEntityPacket.getData());
+
+        // Once the chunk is sent, updates go out right away
+        BlockEntityUtils.updateBlockEntity(session, CHEST_TAG, CHEST_POSITION);
+        Assertions.assertEquals(5, sentPackets.size());
+    }
+
+    @Test
+    public void testChestUpdateWaitsForLatestChunk() {
+        int chunkX = CHEST_POSITION.getX() >> 4;
+        int chunkZ = CHEST_POSITION.getZ() >> 4;
+        LevelChunkPacket firstChunk = new LevelChunkPacket();
+        LevelChunkPacket secondChunk = new LevelChunkPacket();
+        queue.submit(chunkX, chunkZ, () -> firstChunk, session::sendUpstreamPacket);
+        queue.submit(chunkX, chunkZ, () -> secondChunk, session::sendUpstreamPacket);
+        BlockEntityUtils.updateBlockEntity(session, CHEST_TAG, CHEST_POSITION);
+
+        runTranslations();
+        Assertions.assertEquals(3, sentPackets.size());
+        Assertions.assertSame(firstChunk, sentPackets.get(0));
+        Assertions.assertSame(secondChunk, sentPackets.get(1));
+        Assertions.assertInstanceOf(BlockEntityDataPacket.class, sentPackets.get(2));
+    }
+
+    @Test
+    public void testUnloadedChunkDropsUpdates() {
+        int chunkX = CHEST_POSITION.getX() >> 4;
+        int chunkZ = CHEST_POSITION.getZ() >> 4;
+        queue.submit(chunkX, chunkZ, LevelChunkPacket::new, session::sendUpstreamPacket);
+        BlockEntityUtils.updateBlockEntity(session, CHEST_TAG, CHEST_POSITION);
+        queue.cancel(chunkX, chunkZ);
+
+        runTranslations();
+        Assertions.assertTrue(sentPackets.isEmpty());
+    }
+
+    private void runTranslations() {
+        List<Runnable> pending = new ArrayList<>(translations);
+        translations.clear();
+        pending.forEach(Runnable::run);
+    }
+}
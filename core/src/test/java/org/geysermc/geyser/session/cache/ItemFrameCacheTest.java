@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.session.cache;
+
+import org.cloudburstmc.math.vector.Vector3i;
+import org.geysermc.geyser.entity.type.ItemFrameEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+
+public class ItemFrameCacheTest {
+    private static final int ITEM_FRAMES = 10_000;
+
+    @Test
+    public void testChunkLookup() {
+        Random random = new Random(0);
+        ItemFrameCache cache = new ItemFrameCache();
+        List<Vector3i> positions = new ArrayList<>();
+        // Spread over 32x32 chunks, the size of a large map art wall
+        for (int i = 0; i < ITEM_FRAMES; i++) {
+            Vector3i position = Vector3i.from(random.nextInt(512) - 256, random.nextInt(128), random.nextInt(512) - 256);
+            cache.put(position, mock(ItemFrameEntity.class));
+            positions.add(position);
+        }
+
+        int total = 0;
+        for (int chunkX = -16; chunkX < 16; chunkX++) {
+            for (int chunkZ = -16; chunkZ < 16; chunkZ++) {
+                List<ItemFrameEntity> inChunk = cache.getInChunk(chunkX, chunkZ);
+                total += inChunk.size();
+
+                for (Vector3i position : positions) {
+                    if ((position.getX() >> 4) == chunkX && (position.getZ() >> 4) == chunkZ) {
+                        Assertions.assertTrue(inChunk.contains(cache.get(position)), "Item frame at " + position + " is missing from its chunk");
+                    }
+                }
+            }
+        }
+        Assertions.assertEquals(cache.size(), total);
+    }
+
+    @Test
+    public void testReplaceAndRemove() {
+        ItemFrameCache cache = new ItemFrameCache();
+        Vector3i position = Vector3i.from(17, 64, -3);
+        ItemFrameEntity first = mock(ItemFrameEntity.class);
+        ItemFrameEntity second = mock(ItemFrameEntity.class);
+
+        cache.put(position, first);
+        cache.put(position, second);
+        Assertions.assertSame(second, cache.get(position));
+        Assertions.assertEquals(List.of(second), cache.getInChunk(1, -1));
+
+        // An item frame that was replaced must not remove its replacement
+        cache.remove(position, first);
+        Assertions.assertSame(second, cache.get(position));
+
+        cache.remove(position, second);
+        Assertions.assertNull(cache.get(position));
+        Assertions.assertTrue(cache.getInChunk(1, -1).isEmpty());
+    }
+}
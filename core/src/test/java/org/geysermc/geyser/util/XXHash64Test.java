@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.geyser.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class XXHash64Test {
+    private static final long PRIME32 = 2654435761L;
+    /**
+     * The same data that the reference implementation checks itself against.
+     */
+    private static final byte[] SANITY_BUFFER = sanityBuffer(256);
+
+    @Test
+    public void testReferenceDigests() {
+        // Digests from the reference implementation's own sanity checks
+        assertDigest(0xEF46DB3751D8E999L, 0, 0);
+        assertDigest(0xE934A84ADB052768L, 1, 0);
+        assertDigest(0x5014607643A9B4C3L, 1, PRIME32);
+        assertDigest(0x8282DCC4994E35C8L, 14, 0);
+        assertDigest(0xC3BD6BF63DEB6DF0L, 14, PRIME32);
+        assertDigest(0xB641AE8CB691C174L, 222, 0);
+        assertDigest(0x20CB8AB7AE10C14AL, 222, PRIME32);
+    }
+
+    @Test
+    public void testLengths() {
+        Assertions.assertEquals(0xEF46DB3751D8E999L, XXHash64.hash(new byte[0]));
+        Assertions.assertEquals(0x44BC2CF5AD770999L, XXHash64.hash("abc".getBytes(StandardCharsets.US_ASCII)));
+        assertDigest(0x6C83909A9F01ED25L, 7, 0);
+        assertDigest(0x18B216492BB44B70L, 32, 0);
+        // The seed used to tell apart shared chunks with the same default hash
+        assertDigest(0x8CDF13BA7F241D67L, 222, 0x9E3779B97F4A7C15L);
+    }
+
+    @Test
+    public void testOffset() {
+        Assertions.assertEquals(0xBB1C3E0653AFB106L, XXHash64.hash(SANITY_BUFFER, 3, 100, 0));
+    }
+
+    private static void assertDigest(long expected, int length, long seed) {
+        Assertions.assertEquals(expected, XXHash64.hash(SANITY_BUFFER, 0, length, seed),
+            "Wrong digest for " + length + " bytes with seed " + seed);
+    }
+
+    private static byte[] sanityBuffer(int length) {
+        byte[] buffer = new byte[length];
+        long byteGen = PRIME32;
+        for (int i = 0; i < length; i++) {
+            buffer[i] = (byte) (byteGen >>> 56);
+            byteGen *= 0x9E3779B185EBCA8DL;
+        }
+        return buffer;
+    }
+}